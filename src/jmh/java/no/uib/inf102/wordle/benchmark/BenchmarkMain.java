@@ -0,0 +1,30 @@
+package no.uib.inf102.wordle.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Wordle benchmarks with the GC profiler, which reports the
+ * allocation rate (gc.alloc.rate.norm is bytes per operation) next to ops/s.
+ * <br>
+ * </br>
+ * Takes the same arguments as the JMH command line, for example
+ * <code>java -jar target/benchmarks.jar MatchWord -f 1</code>. With no
+ * benchmark pattern every benchmark is run.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
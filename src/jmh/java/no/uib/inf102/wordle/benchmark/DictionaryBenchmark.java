@@ -0,0 +1,64 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.DictionaryFile;
+import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
+
+/**
+ * Building a Dictionary from word lists that are already in memory, compared
+ * to loading it from a DictionaryFile.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    private List<String> guessWords;
+    private List<String> answerWords;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        guessWords = new ArrayList<>(LoadFromFile5LetterEnglish.getGuessWordsList());
+        answerWords = new ArrayList<>(LoadFromFile5LetterEnglish.getAnswerWordsList());
+        file = Files.createTempFile("english5", ".dict");
+        DictionaryFile.write(new Dictionary(guessWords, answerWords), file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Dictionary construct() {
+        return new Dictionary(guessWords, answerWords);
+    }
+
+    @Benchmark
+    public Dictionary load() throws IOException {
+        return DictionaryFile.read(file, null);
+    }
+}
@@ -0,0 +1,101 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * Scoring one guess against one answer, in the different ways the solvers can
+ * do it. Each operation scores the next of 1024 random guess/answer pairs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchWordBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private Dictionary dictionary;
+    private FeedbackMatrix matrix;
+    private String[] guesses = new String[PAIRS];
+    private String[] answers = new String[PAIRS];
+    private int[] guessIds = new int[PAIRS];
+    private int[] answerIds = new int[PAIRS];
+    private int[] answerIndices = new int[PAIRS];
+    private WordleWord[] feedback = new WordleWord[PAIRS];
+    private int[] counts;
+    private int next;
+
+    @Setup
+    public void setup() {
+        dictionary = Dictionary.getDefault();
+        matrix = dictionary.getFeedbackMatrix();
+        counts = new int[dictionary.alphabetSize()];
+        Random random = new Random(102);
+        for (int i = 0; i < PAIRS; i++) {
+            guessIds[i] = random.nextInt(dictionary.guessCount());
+            answerIndices[i] = random.nextInt(dictionary.answerCount());
+            answerIds[i] = dictionary.getAnswerId(answerIndices[i]);
+            guesses[i] = dictionary.getWord(guessIds[i]);
+            answers[i] = dictionary.getWord(answerIds[i]);
+        }
+        // Feedback from other answers, so that isPossibleWord is mostly false
+        for (int i = 0; i < PAIRS; i++) {
+            feedback[i] = WordleAnswer.matchWord(guesses[i], answers[random.nextInt(PAIRS)]);
+        }
+    }
+
+    private int next() {
+        next = (next + 1) & (PAIRS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public WordleWord matchWord() {
+        int i = next();
+        return WordleAnswer.matchWord(guesses[i], answers[i]);
+    }
+
+    @Benchmark
+    public int patternCode() {
+        int i = next();
+        return FeedbackPattern.match(guesses[i], answers[i]);
+    }
+
+    @Benchmark
+    public int packedPatternCode() {
+        int i = next();
+        return dictionary.match(guessIds[i], answerIds[i], counts);
+    }
+
+    @Benchmark
+    public int matrixLookup() {
+        int i = next();
+        return matrix.get(guessIds[i], answerIndices[i]);
+    }
+
+    @Benchmark
+    public boolean isPossibleWord() {
+        int i = next();
+        return WordleWord.isPossibleWord(answers[i], feedback[i]);
+    }
+}
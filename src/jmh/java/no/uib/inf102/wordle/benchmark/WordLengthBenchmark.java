@@ -0,0 +1,139 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.controller.AI.EntropyStrategy;
+import no.uib.inf102.wordle.controller.AI.PartitionStatistics;
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * The cost of one guess for synthetic dictionaries of different word lengths,
+ * all with GUESS_COUNT guess words and ANSWER_COUNT answers. The words are
+ * random, with letters drawn by their frequency in english, so the partitions
+ * are a bit finer than for real words of the same length.
+ * <br>
+ * </br>
+ * Words of 6 and 7 letters have two bytes per entry in the feedback matrix
+ * while 5 letter words have one, so this shows what the wider entries cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordLengthBenchmark {
+
+    static final int GUESS_COUNT = 30_000;
+    static final int ANSWER_COUNT = 3_000;
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final double[] LETTER_FREQUENCY = { 8.2, 1.5, 2.8, 4.3, 12.7, 2.2, 2.0, 6.1, 7.0, 0.15, 0.77,
+            4.0, 2.4, 6.7, 7.5, 1.9, 0.095, 6.0, 6.3, 9.1, 2.8, 0.98, 2.4, 0.15, 2.0, 0.074 };
+
+    @Param({ "5", "6", "7" })
+    public int wordLength;
+
+    private Dictionary dictionary;
+    private FeedbackMatrix matrix;
+    private WordleWord openingFeedback;
+    private int guessId;
+    private int[] allAnswers;
+    private PartitionStatistics partition;
+    private EntropyStrategy entropy;
+
+    @Setup
+    public void setup() {
+        List<String> guessWords = syntheticWords(wordLength, GUESS_COUNT, 102);
+        List<String> answerWords = guessWords.subList(0, ANSWER_COUNT);
+        dictionary = new Dictionary(guessWords, answerWords);
+        matrix = dictionary.getFeedbackMatrix();
+
+        openingFeedback = WordleAnswer.matchWord(guessWords.get(GUESS_COUNT - 1), answerWords.get(123));
+        guessId = GUESS_COUNT / 2;
+        allAnswers = new int[ANSWER_COUNT];
+        for (int a = 0; a < ANSWER_COUNT; a++) {
+            allAnswers[a] = a;
+        }
+        partition = new PartitionStatistics(wordLength, ANSWER_COUNT);
+        entropy = new EntropyStrategy(dictionary);
+    }
+
+    /**
+     * Makes <code>count</code> different random words.
+     */
+    static List<String> syntheticWords(int wordLength, int count, long seed) {
+        double[] cumulative = new double[LETTER_FREQUENCY.length];
+        double sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += LETTER_FREQUENCY[i];
+            cumulative[i] = sum;
+        }
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        char[] word = new char[wordLength];
+        while (words.size() < count) {
+            for (int i = 0; i < wordLength; i++) {
+                double r = random.nextDouble() * sum;
+                int letter = 0;
+                while (cumulative[letter] < r)
+                    letter++;
+                word[i] = LETTERS.charAt(letter);
+            }
+            words.add(new String(word));
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Eliminating with the first feedback of a game, when every answer is
+     * possible.
+     */
+    @Benchmark
+    public int eliminateWords() {
+        WordleWordList list = new WordleWordList(dictionary);
+        list.eliminateWords(openingFeedback);
+        return list.size();
+    }
+
+    /**
+     * Partitioning every answer by one guess, the inner loop of the entropy
+     * strategy.
+     */
+    @Benchmark
+    public double partition() {
+        return partition.partition(matrix, guessId, allAnswers).entropy();
+    }
+
+    /**
+     * The second guess of the entropy strategy, which scores every guess word
+     * against the answers left after the opening.
+     */
+    @Benchmark
+    public String entropySecondGuess() {
+        entropy.reset();
+        entropy.observe(openingFeedback);
+        return entropy.makeGuess(null);
+    }
+}
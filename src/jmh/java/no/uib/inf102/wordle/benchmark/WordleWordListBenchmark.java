@@ -0,0 +1,87 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordConstraints;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * Eliminating words from a full list of possible answers with the feedback of
+ * one guess, which is the most expensive elimination of a game.
+ * <br>
+ * </br>
+ * The last two benchmarks test every answer without the feedback matrix, as
+ * when the guess is not in the guess list or the dictionary is too large for a
+ * matrix: once with WordConstraints and once by scoring the guess against each
+ * answer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordleWordListBenchmark {
+
+    @Param({ "arise", "fuzzy" })
+    public String guess;
+
+    @Param({ "cloud", "rebut" })
+    public String answer;
+
+    private Dictionary dictionary;
+    private WordleWord feedback;
+
+    @Setup
+    public void setup() {
+        dictionary = Dictionary.getDefault();
+        dictionary.getFeedbackMatrix();
+        feedback = WordleAnswer.matchWord(guess, answer);
+    }
+
+    @Benchmark
+    public int eliminateWords() {
+        WordleWordList list = new WordleWordList(dictionary);
+        list.eliminateWords(feedback);
+        return list.size();
+    }
+
+    @Benchmark
+    public int constraintsWithoutMatrix() {
+        WordConstraints constraints = new WordConstraints(dictionary);
+        constraints.add(feedback);
+        int count = 0;
+        for (int a = 0; a < dictionary.answerCount(); a++) {
+            if (constraints.test(dictionary.getAnswerId(a)))
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int matchWithoutMatrix() {
+        int code = FeedbackPattern.encode(feedback);
+        int count = 0;
+        for (String word : dictionary.getAnswerWordsList()) {
+            if (FeedbackPattern.match(guess, word) == code)
+                count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,61 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * Games against the adversarial host, which always answers with the feedback
+ * that leaves the most candidates:
+ * <ul>
+ * <li><code>hostOpening</code>: the host answering the first guess, with all
+ * 2315 answers live</li>
+ * <li><code>worstCaseGame</code>: a whole game of each strategy against the
+ * host, host time included</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdversarialBenchmark {
+
+    @Param({ "Eliminate", "Frequency", "My", "Entropy" })
+    public String strategyName;
+
+    private Dictionary dictionary;
+    private IStrategy strategy;
+
+    @Setup
+    public void setup() {
+        dictionary = Dictionary.getDefault();
+        dictionary.getFeedbackMatrix();
+        strategy = Strategies.create(strategyName, dictionary);
+    }
+
+    @Benchmark
+    public WordleWord hostOpening() {
+        return new AdversarialAnswer(dictionary).makeGuess("soare");
+    }
+
+    @Benchmark
+    public int worstCaseGame() {
+        strategy.reset();
+        return AIPerformance.runWordleGame(strategy, new AdversarialAnswer(dictionary));
+    }
+}
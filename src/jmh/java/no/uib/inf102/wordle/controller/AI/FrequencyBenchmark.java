@@ -0,0 +1,47 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * Counting letter frequencies per position over the full answer list. The
+ * benchmark lives in this package so it can reach the package private helper
+ * of FrequencyStrategy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrequencyBenchmark {
+
+    private List<String> answerWords;
+    private int wordLength;
+
+    @Setup
+    public void setup() {
+        Dictionary dictionary = Dictionary.getDefault();
+        answerWords = dictionary.getAnswerWordsList();
+        wordLength = dictionary.WORD_LENGTH;
+    }
+
+    @Benchmark
+    public HashMap<Character, Integer>[] getFrequencyForEachPos() {
+        return FrequencyStrategy.getFrequencyForEachPos(answerWords, wordLength);
+    }
+}
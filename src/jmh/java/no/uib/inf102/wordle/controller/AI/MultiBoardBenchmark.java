@@ -0,0 +1,66 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.MultiBoardGame;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * Multi board games of MultiBoardEntropyStrategy:
+ * <ul>
+ * <li><code>secondGuess</code>: the guess after "soare" on every board, when
+ * the boards first have different possible answers</li>
+ * <li><code>wholeGame</code>: a whole game with random answers</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiBoardBenchmark {
+
+    @Param({ "4", "8", "16" })
+    public int boardCount;
+
+    private Dictionary dictionary;
+    private MultiBoardEntropyStrategy strategy;
+    private WordleWord[] openingFeedback;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        dictionary = Dictionary.getDefault();
+        dictionary.getFeedbackMatrix();
+        strategy = new MultiBoardEntropyStrategy(dictionary, boardCount);
+        openingFeedback = MultiBoardGame.random(dictionary, boardCount, new Random(boardCount)).makeGuess("soare");
+        random = new Random(102);
+    }
+
+    @Benchmark
+    public String secondGuess() {
+        strategy.reset();
+        return strategy.makeGuess(openingFeedback);
+    }
+
+    @Benchmark
+    public int wholeGame() {
+        strategy.reset();
+        return AIPerformance.runMultiBoardGame(strategy, MultiBoardGame.random(dictionary, boardCount, random));
+    }
+}
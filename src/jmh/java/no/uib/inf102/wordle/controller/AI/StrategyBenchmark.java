@@ -0,0 +1,78 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * One guess of each strategy at realistic candidate set sizes:
+ * <ul>
+ * <li><code>opening</code>: the first guess, with every answer possible</li>
+ * <li><code>narrow</code>: the guess after "arise" against "cloud" (168
+ * candidates)</li>
+ * <li><code>endgame</code>: the guess after "aught" against "night" (9
+ * candidates, all of them -ight words)</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StrategyBenchmark {
+
+    @Param({ "Eliminate", "Frequency", "My", "Entropy" })
+    public String strategyName;
+
+    @Param({ "opening", "narrow", "endgame" })
+    public String scenario;
+
+    private Dictionary dictionary;
+    private IStrategy strategy;
+    private WordleWord feedback;
+
+    @Setup
+    public void setup() {
+        dictionary = Dictionary.getDefault();
+        dictionary.getFeedbackMatrix();
+        strategy = Strategies.create(strategyName, dictionary);
+        switch (scenario) {
+            case "opening":
+                feedback = null;
+                break;
+            case "narrow":
+                feedback = WordleAnswer.matchWord("arise", "cloud");
+                break;
+            case "endgame":
+                feedback = WordleAnswer.matchWord("aught", "night");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+    }
+
+    /**
+     * Resets the strategy and makes one guess with the scenario's feedback, so
+     * the time includes the elimination for that feedback.
+     */
+    @Benchmark
+    public String makeGuess() {
+        strategy.reset();
+        return strategy.makeGuess(feedback);
+    }
+}
@@ -1,41 +1,38 @@
 package no.uib.inf102.util;
 
-import java.io.File;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Scanner;
 
 public class ReadFile {
-    
+
+    /**
+     * Reads the lines of a UTF-8 text file.
+     *
+     * @param filename
+     * @return the lines of the file
+     * @throws UncheckedIOException if the file can not be read
+     */
     public static List<String> readLines(String filename) {
         try {
-            File file = new File(filename);
-            Scanner sc = new Scanner(file);
-            List<String> list = new ArrayList<>();
-            while (sc.hasNextLine()) {
-                list.add(sc.nextLine());
-            }
-            sc.close();
-            return list;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            return Files.readAllLines(Path.of(filename), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + filename, e);
         }
     }
 
+    /**
+     * Reads a UTF-8 text file with the lines joined together without line
+     * separators.
+     *
+     * @param filename
+     * @return the lines of the file joined together
+     * @throws UncheckedIOException if the file can not be read
+     */
     public static String read(String filename) {
-        try {
-            File file = new File(filename);
-            Scanner sc = new Scanner(file);
-            StringBuilder builder = new StringBuilder();
-            while (sc.hasNextLine()) {
-                builder.append(sc.nextLine());
-            }
-            sc.close();
-            return builder.toString();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "";
-        }
+        return String.join("", readLines(filename));
     }
 }
@@ -1,41 +1,88 @@
 package no.uib.inf102.wordle.controller.AI;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.MultiBoardGame;
+import no.uib.inf102.wordle.model.word.IAnswer;
 import no.uib.inf102.wordle.model.word.WordleAnswer;
 import no.uib.inf102.wordle.model.word.WordleWord;
 
 /**
  * This class, when its main method is run, shows the performance of the
- * strategies listed in it.
+ * strategies listed in it. If a file is given as argument, the latency of the
+ * guesses of each strategy is also written to it as CSV. With the argument
+ * <code>--book</code>, the first two guesses of the Frequency, My and Entropy
+ * strategies are looked up in their opening books, which are saved at the end.
+ * Without it every guess is made by the strategy itself, so changes to a
+ * strategy always show up in the results.
+ * <br>
+ * </br>
+ * The strategies play a sample of N_GAMES answers. To play every answer, use
+ * BatchSolver, which can also save its progress to a checkpoint file and
+ * continue from it.
  */
 public class AIPerformance {
 
-    public static Dictionary dictionary = new Dictionary();
+    public static Dictionary dictionary = Dictionary.getDefault();
 
     public static final int N_GAMES = 200;
     public static final int MAX_N_GUESSES = 20;
+    public static final int N_THREADS = Runtime.getRuntime().availableProcessors();
     static long seed = 14212l;
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        boolean useBook = false;
+        Path csvFile = null;
+        try {
+            for (String arg : args) {
+                if (arg.equals("--book"))
+                    useBook = true;
+                else if (arg.startsWith("--"))
+                    throw new IllegalArgumentException("Unknown option " + arg);
+                else if (csvFile != null)
+                    throw new IllegalArgumentException("Give at most one CSV file");
+                else
+                    csvFile = Path.of(arg);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: AIPerformance [--book] [csv-file]");
+            System.exit(2);
+            return;
+        }
+
         // Strategies
-        List<IStrategy> strategies = new ArrayList<>();
-        strategies.add(new RandomStrategy(dictionary));
-        strategies.add(new EliminateStrategy(dictionary));
-        strategies.add(new FrequencyStrategy(dictionary));
-        strategies.add(new MyStrategy(dictionary));
+        List<Supplier<IStrategy>> strategies = new ArrayList<>();
+        List<OpeningBook> books = new ArrayList<>();
+        strategies.add(() -> new RandomStrategy(dictionary));
+        strategies.add(() -> new EliminateStrategy(dictionary));
+        strategies.add(withBook(() -> new FrequencyStrategy(dictionary), "Frequency", useBook, books));
+        strategies.add(withBook(() -> new MyStrategy(dictionary), "My", useBook, books));
+        strategies.add(withBook(() -> new EntropyStrategy(dictionary), "Entropy", useBook, books));
 
-        Map<IStrategy, AIStatistics> stats = new HashMap<>();
+        List<AIStatistics> stats = new ArrayList<>();
         System.out.println("\nStrategies running...");
         System.out.println(
                 "---------------------------------------------------------------------------------------------");
-        for (IStrategy strategy : strategies) {
-            stats.put(strategy, runWordleGames(strategy));
+        for (Supplier<IStrategy> strategy : strategies) {
+            stats.add(runWordleGames(strategy, N_GAMES, N_THREADS));
+        }
+        for (OpeningBook book : books) {
+            book.save();
         }
 
         System.out.println(
@@ -44,13 +91,32 @@ public class AIPerformance {
                 + " average guessing counts:%n", N_GAMES);
         System.out.println(
                 "---------------------------------------------------------------------------------------------");
-        for (IStrategy strategy : strategies) {
-            AIStatistics.printResult(stats.get(strategy));
+        for (AIStatistics stat : stats) {
+            AIStatistics.printResult(stat);
         }
-        // for (IStrategy strategy : strategies) {
-        // AIStatistics.printHistogram(stats.get(strategy));
+        // for (AIStatistics stat : stats) {
+        // AIStatistics.printHistogram(stat);
         // }
         System.out.println();
+        if (csvFile != null) {
+            try (Writer out = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+                AIStatistics.writeCsv(stats, out);
+            }
+        }
+    }
+
+    /**
+     * Returns <code>strategy</code>, or if <code>useBook</code> is set, a
+     * factory wrapping it in the opening book of <code>strategyName</code>. The
+     * book is added to <code>books</code> so it can be saved after the run.
+     */
+    private static Supplier<IStrategy> withBook(Supplier<IStrategy> strategy, String strategyName, boolean useBook,
+            List<OpeningBook> books) {
+        if (!useBook)
+            return strategy;
+        OpeningBook book = OpeningBook.load(dictionary, strategyName);
+        books.add(book);
+        return () -> new OpeningBookStrategy(strategy.get(), book);
     }
 
     /**
@@ -61,16 +127,16 @@ public class AIPerformance {
      * @return the total number of guesses made across <code>nGames</code> games.
      */
     public static AIStatistics runWordleGames(IStrategy strategy) {
-        String strategyName = strategy.getClass().getSimpleName();
+        String strategyName = strategy.getName();
         AIStatistics stats = new AIStatistics(strategyName);
         // set a seed so that all strategies are given the same set of words
         Random rnd = new Random(seed);
+        ResourceUsage.resetHeapPeak();
 
         for (int i = 0; i < N_GAMES; i++) {
             try {
                 WordleAnswer answer = new WordleAnswer(rnd, dictionary);
-                int guesses = runWordleGame(strategy, answer);
-                stats.addGame(guesses);
+                runMeasuredGame(strategy, answer, stats);
                 printProgress(strategyName, i + 1, true);
             } catch (IllegalStateException e) {
                 printProgress(strategyName, i + 1, false);
@@ -78,33 +144,167 @@ public class AIPerformance {
             }
             strategy.reset();
         }
+        stats.updateHeapPeak(ResourceUsage.heapPeakBytes());
         System.out.println();
         return stats;
     }
 
+    /**
+     * Plays Wordle <code>nGames</code> times on <code>nThreads</code> threads.
+     * Each thread gets its own strategy from <code>strategyFactory</code> and
+     * plays a contiguous slice of the same seeded answer sequence as
+     * <code>runWordleGames(IStrategy)</code>. The statistics of the slices are
+     * merged at the end, so the result is the same as a serial run for any
+     * strategy that does not use randomness.
+     * 
+     * @param strategyFactory creates a new strategy for each thread
+     * @param nGames          number of games to play
+     * @param nThreads        number of threads to play on
+     * @return the merged statistics of all games
+     */
+    public static AIStatistics runWordleGames(Supplier<IStrategy> strategyFactory, int nGames, int nThreads) {
+        List<WordleAnswer> answers = answerSequence(nGames);
+        nThreads = Math.max(1, Math.min(nThreads, nGames));
+        AtomicInteger gamesPlayed = new AtomicInteger();
+        ResourceUsage.resetHeapPeak();
+
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            List<Future<AIStatistics>> slices = new ArrayList<>();
+            for (int t = 0; t < nThreads; t++) {
+                List<WordleAnswer> slice = answers.subList(t * nGames / nThreads, (t + 1) * nGames / nThreads);
+                slices.add(executor.submit(() -> runSlice(strategyFactory.get(), slice, gamesPlayed, nGames)));
+            }
+
+            AIStatistics stats = null;
+            for (Future<AIStatistics> slice : slices) {
+                AIStatistics sliceStats = slice.get();
+                if (stats == null)
+                    stats = new AIStatistics(sliceStats.getStrategyName());
+                stats.merge(sliceStats);
+            }
+            stats.updateHeapPeak(ResourceUsage.heapPeakBytes());
+            System.out.println();
+            return stats;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running Wordle games", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A Wordle game crashed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays one game for each of the given answers with the given strategy.
+     */
+    private static AIStatistics runSlice(IStrategy strategy, List<WordleAnswer> answers, AtomicInteger gamesPlayed,
+            int nGames) {
+        String strategyName = strategy.getName();
+        AIStatistics stats = new AIStatistics(strategyName);
+        for (WordleAnswer answer : answers) {
+            boolean won;
+            try {
+                runMeasuredGame(strategy, answer, stats);
+                won = true;
+            } catch (IllegalStateException e) {
+                stats.failed();
+                won = false;
+            }
+            strategy.reset();
+            synchronized (AIPerformance.class) {
+                printProgress(strategyName, gamesPlayed.incrementAndGet(), nGames, won);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the first <code>nGames</code> answers of the seeded answer sequence
+     * used by every strategy.
+     * 
+     * @param nGames
+     * @return list of answers
+     */
+    public static List<WordleAnswer> answerSequence(int nGames) {
+        Random rnd = new Random(seed);
+        List<WordleAnswer> answers = new ArrayList<>(nGames);
+        for (int i = 0; i < nGames; i++) {
+            answers.add(new WordleAnswer(rnd, dictionary));
+        }
+        return answers;
+    }
+
     /**
      * The given strategy guesses a word until the correct is found
      * 
      * @param strategy the given strategy guessing the word
-     * @param answer   the answer of this game
+     * @param answer   the host of this game, which gives the feedback
      * @return total number of guesses
      */
-    public static int runWordleGame(IStrategy strategy, WordleAnswer answer) {
-        String guess = strategy.makeGuess(null);
-        WordleWord feedback = answer.makeGuess(guess);
+    public static int runWordleGame(IStrategy strategy, IAnswer answer) {
+        return runWordleGame(strategy, answer, null);
+    }
 
-        int guessCount = 1;
-        while (!feedback.allMatch()) {
-            guess = strategy.makeGuess(feedback);
-            feedback = answer.makeGuess(guess);
+    /**
+     * The given strategy guesses a word until the correct is found, and the
+     * time each call to <code>makeGuess</code> takes is recorded in
+     * <code>stats</code>.
+     * 
+     * @param strategy the given strategy guessing the word
+     * @param answer   the host of this game, which gives the feedback
+     * @param stats    where the latency of each guess is recorded, or null
+     * @return total number of guesses
+     */
+    public static int runWordleGame(IStrategy strategy, IAnswer answer, AIStatistics stats) {
+        WordleWord feedback = null;
+        int guessCount = 0;
+        do {
+            if (guessCount == MAX_N_GUESSES)
+                throw new IllegalStateException("Too many guesses.");
+            long start = System.nanoTime();
+            String guess = strategy.makeGuess(feedback);
+            long nanos = System.nanoTime() - start;
             guessCount++;
+            if (stats != null)
+                stats.recordGuess(guessCount, nanos);
+            feedback = answer.makeGuess(guess);
+        } while (!feedback.allMatch());
 
-            if (guessCount > MAX_N_GUESSES) {
-                throw new IllegalStateException("Too many guesses.");
-            }
+        return guessCount;
+    }
+
+    /**
+     * Plays one game and records the latency of its guesses and the bytes the
+     * current thread allocated while playing it.
+     */
+    private static void runMeasuredGame(IStrategy strategy, IAnswer answer, AIStatistics stats) {
+        long allocatedBefore = ResourceUsage.threadAllocatedBytes();
+        try {
+            stats.addGame(runWordleGame(strategy, answer, stats));
+        } finally {
+            if (allocatedBefore >= 0)
+                stats.addAllocation(ResourceUsage.threadAllocatedBytes() - allocatedBefore);
         }
+    }
 
-        return guessCount;
+    /**
+     * The given strategy guesses words until every board of the game is solved.
+     *
+     * @param strategy the strategy guessing the words
+     * @param game     the boards of this game
+     * @return total number of guesses, which is more than
+     *         <code>game.maxGuesses()</code> if the game was lost
+     */
+    public static int runMultiBoardGame(MultiBoardEntropyStrategy strategy, MultiBoardGame game) {
+        WordleWord[] feedback = null;
+        while (!game.isWon()) {
+            if (game.guessCount() >= MAX_N_GUESSES * game.boardCount())
+                throw new IllegalStateException("Too many guesses.");
+            feedback = game.makeGuess(strategy.makeGuess(feedback));
+        }
+        return game.guessCount();
     }
 
     /**
@@ -116,11 +316,15 @@ public class AIPerformance {
      * @param gameWon      If the game was won
      */
     public static void printProgress(String strategyName, int game, boolean gameWon) {
+        printProgress(strategyName, game, N_GAMES, gameWon);
+    }
+
+    private static void printProgress(String strategyName, int game, int nGames, boolean gameWon) {
         float length = 50f;
-        float progress = ((float) game / N_GAMES) * length;
+        float progress = ((float) game / nGames) * length;
         String progressString = "=".repeat((int) progress);
         System.out.printf("\b\r%-25s [%-50s] (%4s /%5s) | Latest game: %s", strategyName + ":", progressString, game,
-                N_GAMES,
+                nGames,
                 gameWon ? "won" : "lost");
     }
 }
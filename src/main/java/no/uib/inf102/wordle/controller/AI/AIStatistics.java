@@ -1,12 +1,22 @@
 package no.uib.inf102.wordle.controller.AI;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * This class records various statistics of a strategy used for guessing Wordle
  * answers.
+ * <br>
+ * </br>
+ * Besides the guess counts it can record how long each call to
+ * <code>makeGuess</code> took, by turn, the bytes allocated by each game and
+ * the heap peak of the run, so strategies can be compared on speed as well.
  */
 public class AIStatistics {
 
@@ -19,6 +29,18 @@ public class AIStatistics {
 	private int failures;
 	public Map<Integer,Integer> gamesCompletedIn = new HashMap<>();
 
+	/**
+	 * Latency of every guess, and <code>turnLatencies.get(t - 1)</code> of the
+	 * guesses in turn <code>t</code>.
+	 */
+	private final LatencyHistogram guessLatency = new LatencyHistogram();
+	private final List<LatencyHistogram> turnLatencies = new ArrayList<>();
+
+	private int measuredGames;
+	private long allocatedBytes;
+	private long maxAllocatedBytes;
+	private long heapPeakBytes;
+
 	/**
 	 * Create a statistics object for an AI Strategy.
 	 * 
@@ -45,6 +67,68 @@ public class AIStatistics {
 		maxGuesses = Math.max(maxGuesses, guesses);
 	}
 
+	/**
+	 * Adds the games recorded in <code>other</code> to this object, as if they
+	 * had been recorded here.
+	 * 
+	 * @param other statistics of the same strategy
+	 */
+	public void merge(AIStatistics other) {
+		numGames += other.numGames;
+		totalGuesses += other.totalGuesses;
+		wins += other.wins;
+		failures += other.failures;
+		maxGuesses = Math.max(maxGuesses, other.maxGuesses);
+		for (Map.Entry<Integer, Integer> entry : other.gamesCompletedIn.entrySet()) {
+			gamesCompletedIn.merge(entry.getKey(), entry.getValue(), Integer::sum);
+		}
+		guessLatency.merge(other.guessLatency);
+		for (int turn = 1; turn <= other.turnLatencies.size(); turn++) {
+			turnLatency(turn).merge(other.turnLatencies.get(turn - 1));
+		}
+		measuredGames += other.measuredGames;
+		allocatedBytes += other.allocatedBytes;
+		maxAllocatedBytes = Math.max(maxAllocatedBytes, other.maxAllocatedBytes);
+		heapPeakBytes = Math.max(heapPeakBytes, other.heapPeakBytes);
+	}
+
+	/**
+	 * Records how long a call to <code>makeGuess</code> took.
+	 * 
+	 * @param turn  the number of the guess in its game, starting at 1
+	 * @param nanos
+	 */
+	public void recordGuess(int turn, long nanos) { // O(1)
+		guessLatency.record(nanos);
+		turnLatency(turn).record(nanos);
+	}
+
+	private LatencyHistogram turnLatency(int turn) {
+		while (turnLatencies.size() < turn)
+			turnLatencies.add(new LatencyHistogram());
+		return turnLatencies.get(turn - 1);
+	}
+
+	/**
+	 * Records the bytes allocated while playing one game.
+	 * 
+	 * @param bytes
+	 */
+	public void addAllocation(long bytes) {
+		measuredGames++;
+		allocatedBytes += bytes;
+		maxAllocatedBytes = Math.max(maxAllocatedBytes, bytes);
+	}
+
+	/**
+	 * Records the heap peak of the run, keeping the largest one recorded.
+	 * 
+	 * @param bytes
+	 */
+	public void updateHeapPeak(long bytes) {
+		heapPeakBytes = Math.max(heapPeakBytes, bytes);
+	}
+
 	/**
 	 * Increases the value of a given key by 1
 	 * If key is not present in map, the value of this key is sat to 1
@@ -119,6 +203,49 @@ public class AIStatistics {
 		return gamesCompletedIn;
 	}
 
+	/**
+	 * @return the latency of every guess
+	 */
+	public LatencyHistogram getGuessLatency() {
+		return guessLatency;
+	}
+
+	/**
+	 * @param turn the number of a guess in its game, starting at 1
+	 * @return the latency of the guesses in that turn
+	 */
+	public LatencyHistogram getTurnLatency(int turn) {
+		return turn <= turnLatencies.size() ? turnLatencies.get(turn - 1) : new LatencyHistogram();
+	}
+
+	/**
+	 * @return the highest turn a guess was recorded for
+	 */
+	public int getTurnCount() {
+		return turnLatencies.size();
+	}
+
+	/**
+	 * @return the mean bytes allocated per game, or 0 if nothing is recorded
+	 */
+	public double getAllocatedBytesPerGame() {
+		return measuredGames == 0 ? 0 : allocatedBytes / (double) measuredGames;
+	}
+
+	/**
+	 * @return the most bytes allocated in one game
+	 */
+	public long getMaxAllocatedBytes() {
+		return maxAllocatedBytes;
+	}
+
+	/**
+	 * @return the heap peak of the run in bytes, or 0 if it is not recorded
+	 */
+	public long getHeapPeakBytes() {
+		return heapPeakBytes;
+	}
+
 	/**
 	 * 
 	 * @return the name of the strategy being recorded
@@ -129,7 +256,8 @@ public class AIStatistics {
 
     /**
      * Prints statistical information (like average guesses and max guesses) about
-     * an AI's performance over many Wordle games.
+     * an AI's performance over many Wordle games, followed by the latency of the
+     * guesses of each turn.
      * 
      * @param stats the stats to print
      */
@@ -144,8 +272,91 @@ public class AIStatistics {
             System.out.printf("%-25s %15s guesses %5d/%d won   max %d%n", stats.getStrategyName() + ":", formattedCount,
                     stats.getWins(), stats.getNumGames(), stats.getMaxGuesses());
         }
+        if (stats.getGuessLatency().getCount() > 0)
+            System.out.printf("%-25s %s%n", "", stats.formatResources());
+        if (stats.getTurnCount() > 0)
+            printLatencyByTurn(stats);
+    }
+
+    /**
+     * Describes the latency of the guesses, the allocations per game and the
+     * heap peak on one line.
+     * 
+     * @return the description
+     */
+    public String formatResources() {
+        LatencyHistogram latency = getGuessLatency();
+        return String.format(Locale.ROOT, "makeGuess p50 %s p90 %s p99 %s max %s, %s/game allocated, heap peak %s",
+                formatNanos(latency.percentile(50)), formatNanos(latency.percentile(90)),
+                formatNanos(latency.percentile(99)), formatNanos(latency.getMax()),
+                formatBytes((long) getAllocatedBytesPerGame()), formatBytes(getHeapPeakBytes()));
+    }
+
+    /**
+     * Prints the latency percentiles of the guesses of each turn.
+     * 
+     * @param stats
+     */
+    private static void printLatencyByTurn(AIStatistics stats) {
+        System.out.printf("%-25s %5s %8s %10s %10s %10s %10s%n", "", "turn", "guesses", "p50", "p90", "p99", "max");
+        for (int turn = 1; turn <= stats.getTurnCount(); turn++) {
+            LatencyHistogram latency = stats.getTurnLatency(turn);
+            System.out.printf("%-25s %5d %8d %10s %10s %10s %10s%n", "", turn, latency.getCount(),
+                    formatNanos(latency.percentile(50)), formatNanos(latency.percentile(90)),
+                    formatNanos(latency.percentile(99)), formatNanos(latency.getMax()));
+        }
     }
 
+    /**
+     * Header of the CSV written by <code>writeCsv</code>.
+     */
+    public static final String CSV_HEADER = "strategy,turn,guesses,p50_ns,p90_ns,p99_ns,max_ns,mean_ns,"
+            + "allocated_bytes_per_game,max_allocated_bytes,heap_peak_bytes";
+
+    /**
+     * Writes the latency of each turn of each strategy as CSV, with a row for
+     * all turns together where turn is "all". The memory columns are the same
+     * for every row of a strategy.
+     * 
+     * @param stats
+     * @param out
+     * @throws IOException if writing fails
+     */
+    public static void writeCsv(List<AIStatistics> stats, Writer out) throws IOException {
+        out.write(CSV_HEADER + "\n");
+        for (AIStatistics stat : stats) {
+            for (int turn = 1; turn <= stat.getTurnCount(); turn++) {
+                stat.writeCsvRow(out, Integer.toString(turn), stat.getTurnLatency(turn));
+            }
+            stat.writeCsvRow(out, "all", stat.getGuessLatency());
+        }
+    }
+
+    private void writeCsvRow(Writer out, String turn, LatencyHistogram latency) throws IOException {
+        out.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%.0f,%.0f,%d,%d\n", strategyName, turn,
+                latency.getCount(), latency.percentile(50), latency.percentile(90), latency.percentile(99),
+                latency.getMax(), latency.getMean(), getAllocatedBytesPerGame(), maxAllocatedBytes, heapPeakBytes));
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000)
+            return nanos + " ns";
+        if (nanos < 1_000_000)
+            return String.format(Locale.ROOT, "%.1f us", nanos / 1e3);
+        if (nanos < 1_000_000_000)
+            return String.format(Locale.ROOT, "%.1f ms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2f s", nanos / 1e9);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1 << 10)
+            return bytes + " B";
+        if (bytes < 1 << 20)
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        if (bytes < 1 << 30)
+            return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+        return String.format(Locale.ROOT, "%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
     
     /**
      * Prints a histogram showing for each number of guesses how many 
@@ -0,0 +1,74 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.List;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.IAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * A host that never commits to an answer, like the game Absurdle. Each guess
+ * partitions the answers that are still possible by the feedback they would
+ * give, and the feedback of the largest bucket is returned. That bucket is
+ * kept as the possible answers, so the guesser always gets the worst case and
+ * the game only ends when a single answer is left and it is guessed.
+ * <br>
+ * </br>
+ * The partition is a pattern histogram of the live candidates, looked up in
+ * the feedback matrix when the dictionary has one. Ties are broken by the
+ * lowest pattern code, so the feedback is the same for the same guesses.
+ */
+public class AdversarialAnswer implements IAnswer {
+
+    private final Dictionary dictionary;
+    private final WordleWordList candidates;
+    private final PartitionStatistics partition;
+    private FeedbackMatrix matrix;
+
+    /**
+     * Creates a host where every answer word of the dictionary is possible.
+     *
+     * @param dictionary
+     */
+    public AdversarialAnswer(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        this.candidates = new WordleWordList(dictionary);
+        this.partition = new PartitionStatistics(dictionary.WORD_LENGTH, candidates.size());
+    }
+
+    @Override
+    public WordleWord makeGuess(String wordGuess) { // O(m * k)
+        int guessId = dictionary.getGuessIndex(wordGuess.toLowerCase()); // O(k)
+        if (guessId < 0)
+            throw new IllegalArgumentException("The word '" + wordGuess + "' is not a legal guess");
+
+        if (matrix == null && FeedbackMatrix.supports(dictionary))
+            matrix = dictionary.getFeedbackMatrix();
+        if (matrix != null)
+            partition.partition(matrix, guessId, candidates); // O(m)
+        else
+            partition.partition(dictionary, guessId, candidates); // O(m * k)
+        int code = partition.largestBucketCode(); // O(buckets)
+
+        WordleWord feedback = FeedbackPattern.toWordleWord(dictionary.getWord(guessId), code); // O(k)
+        candidates.eliminateWords(feedback); // O(m)
+        return feedback;
+    }
+
+    /**
+     * @return the number of answers that are still possible
+     */
+    public int candidateCount() {
+        return candidates.size();
+    }
+
+    /**
+     * @return the answers that are still possible
+     */
+    public List<String> candidates() { // O(m)
+        return candidates.possibleAnswers();
+    }
+}
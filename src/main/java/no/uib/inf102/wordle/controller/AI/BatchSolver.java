@@ -0,0 +1,562 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.WordListReader;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * Solves a list of answers with one strategy without a display, and writes one
+ * line per game as soon as it is played.
+ * <br>
+ * </br>
+ * Each line has the answer, whether it was found, the guesses, the number of
+ * answer words that were still possible after each guess and the time the game
+ * took in microseconds. Lines are written as JSON objects or as CSV, in the
+ * order of the answer list. The games are played on several threads, each with
+ * its own strategy.
+ * <br>
+ * </br>
+ * Usage:
+ *
+ * <pre>
+ * BatchSolver [options] strategy [all | guesses | answer-file]
+ *   --dictionary FILE      dictionary file made by DictionaryFile
+ *   --word-lists G A       guess and answer word list files
+ *   --format json|csv      default json
+ *   --output FILE          default standard output
+ *   --threads N            default the number of processors
+ *   --max-guesses N        default AIPerformance.MAX_N_GUESSES
+ *   --book                 look up the first two guesses in the opening
+ *                          book of the strategy, and save it at the end
+ *   --checkpoint FILE      append the games to FILE and skip the answers
+ *                          already in it
+ * </pre>
+ *
+ * The default dictionary is the 5 letter english one. "all" solves every
+ * answer word of the dictionary, and "guesses" every guess word, which finds
+ * how a strategy does when the answer is outside the answer list. A summary is
+ * printed to standard error.
+ * <br>
+ * </br>
+ * With a checkpoint file a long sweep can be stopped and started again. Each
+ * game is appended to the file as soon as it and the games before it are
+ * played, and when the solver is started again the answers already in the
+ * file are not played again. A line that was cut off when the solver was
+ * stopped is removed. The first line of the file names the strategy, whether
+ * it uses its opening book, the dictionary checksum and the maximum number of
+ * guesses, and the solver refuses to continue a file written with other
+ * settings. The summary counts the games of earlier runs whose answer is in
+ * the answer list too, but only times the guesses of this run.
+ */
+public class BatchSolver {
+
+    public enum Format {
+        JSON, CSV
+    }
+
+    private static final String CSV_HEADER = "answer,solved,guesses,remaining,micros";
+
+    private final Dictionary dictionary;
+    private final Supplier<IStrategy> strategyFactory;
+    private final Format format;
+    private final int nThreads;
+    private final int maxGuesses;
+
+    /**
+     * @param dictionary
+     * @param strategyFactory creates a new strategy for each thread
+     * @param format
+     * @param nThreads        number of threads to play on
+     * @param maxGuesses      a game is lost after this many guesses
+     */
+    public BatchSolver(Dictionary dictionary, Supplier<IStrategy> strategyFactory, Format format, int nThreads,
+            int maxGuesses) {
+        if (nThreads < 1 || maxGuesses < 1)
+            throw new IllegalArgumentException("Need at least one thread and one guess");
+        this.dictionary = dictionary;
+        this.strategyFactory = strategyFactory;
+        this.format = format;
+        this.nThreads = nThreads;
+        this.maxGuesses = maxGuesses;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Dictionary dictionary = Dictionary.getDefault();
+        Format format = Format.JSON;
+        Path output = null;
+        int nThreads = AIPerformance.N_THREADS;
+        int maxGuesses = AIPerformance.MAX_N_GUESSES;
+        boolean useBook = false;
+        Path checkpoint = null;
+        List<String> positional = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--dictionary":
+                    dictionary = Dictionary.load(Path.of(args[++i]));
+                    break;
+                case "--word-lists":
+                    dictionary = WordListReader.read(Path.of(args[++i]), Path.of(args[++i]), null);
+                    break;
+                case "--format":
+                    format = Format.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--output":
+                    output = Path.of(args[++i]);
+                    break;
+                case "--threads":
+                    nThreads = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-guesses":
+                    maxGuesses = Integer.parseInt(args[++i]);
+                    break;
+                case "--book":
+                    useBook = true;
+                    break;
+                case "--checkpoint":
+                    checkpoint = Path.of(args[++i]);
+                    break;
+                default:
+                    if (args[i].startsWith("--"))
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                    positional.add(args[i]);
+                }
+            }
+            if (positional.isEmpty() || positional.size() > 2)
+                throw new IllegalArgumentException("Give a strategy and optionally an answer file");
+            if (output != null && checkpoint != null)
+                throw new IllegalArgumentException("Give either an output file or a checkpoint file");
+            Strategies.factory(positional.get(0), dictionary); // checks the name
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: BatchSolver [--dictionary FILE | --word-lists GUESSES ANSWERS]"
+                    + " [--format json|csv] [--output FILE | --checkpoint FILE] [--threads N] [--max-guesses N]"
+                    + " [--book] strategy [all | guesses | answer-file]");
+            System.err.println("Strategies: " + Strategies.names());
+            System.exit(2);
+            return;
+        }
+
+        String strategyName = positional.get(0);
+        String answerSource = positional.size() > 1 ? positional.get(1) : "all";
+        List<String> answers;
+        if (answerSource.equals("all"))
+            answers = dictionary.getAnswerWordsList();
+        else if (answerSource.equals("guesses"))
+            answers = dictionary.getGuessWordsList();
+        else
+            answers = readAnswers(Path.of(answerSource), dictionary);
+        Supplier<IStrategy> strategyFactory = Strategies.factory(strategyName, dictionary);
+        OpeningBook book = null;
+        if (useBook) {
+            OpeningBook strategyBook = OpeningBook.load(dictionary, strategyName);
+            Supplier<IStrategy> inner = strategyFactory;
+            strategyFactory = () -> new OpeningBookStrategy(inner.get(), strategyBook);
+            book = strategyBook;
+        }
+        BatchSolver solver = new BatchSolver(dictionary, strategyFactory, format, nThreads, maxGuesses);
+
+        long start = System.nanoTime();
+        AIStatistics stats;
+        if (checkpoint != null) {
+            stats = solver.solve(answers, checkpoint);
+        } else if (output == null) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            stats = solver.solve(answers, out);
+            out.flush();
+        } else {
+            try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                stats = solver.solve(answers, out);
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (book != null)
+            book.save();
+        System.err.printf("%s: %d games, %d lost, %.3f guesses on average, at most %d, in %d ms%n",
+                stats.getStrategyName(), stats.getNumGames(), stats.getFailures(),
+                stats.getTotalGuesses() / (double) Math.max(1, stats.getNumGames() - stats.getFailures()),
+                stats.getMaxGuesses(), millis);
+        System.err.println(stats.formatResources());
+    }
+
+    /**
+     * Reads a file with one answer per line. Blank lines are skipped and the
+     * words are lowercased.
+     *
+     * @param file
+     * @param dictionary
+     * @return the answers
+     * @throws IOException              if the file can not be read
+     * @throws IllegalArgumentException if an answer is not in the dictionary
+     */
+    public static List<String> readAnswers(Path file, Dictionary dictionary) throws IOException { // O(n * k)
+        List<String> answers = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                lineNumber++;
+                String word = line.strip().toLowerCase();
+                if (word.isEmpty())
+                    continue;
+                if (dictionary.getId(word) < 0)
+                    throw new IllegalArgumentException(
+                            file + ":" + lineNumber + ": " + word + " is not in the dictionary");
+                answers.add(word);
+            }
+        }
+        return answers;
+    }
+
+    /**
+     * Plays one game for each answer and writes a line per game to
+     * <code>out</code>. CSV output starts with a header line.
+     *
+     * @param answers words in the dictionary
+     * @param out
+     * @return the statistics of all games
+     * @throws IOException if writing fails
+     */
+    public AIStatistics solve(List<String> answers, Writer out) throws IOException {
+        if (format == Format.CSV)
+            out.write(CSV_HEADER + "\n");
+        return play(answers, out);
+    }
+
+    /**
+     * Plays one game for each answer that is not in the checkpoint file yet,
+     * and appends a line per game to the file. The file is made if it does not
+     * exist, and must be in the format of this solver if it does.
+     *
+     * @param answers    words in the dictionary
+     * @param checkpoint file of the games played so far
+     * @return the statistics of all games in the file, where only the guesses
+     *         of the games played now are timed
+     * @throws IOException              if the file can not be read or written
+     * @throws IllegalArgumentException if the file is in another format or was
+     *                                  written with other settings
+     */
+    public AIStatistics solve(List<String> answers, Path checkpoint) throws IOException { // O(a + g * m) per game
+        String header = runHeader(strategyFactory.get());
+        AIStatistics stats = new AIStatistics(strategyFactory.get().getName());
+        Set<String> done = readCheckpoint(checkpoint, header, new HashSet<>(answers), stats); // O(a)
+        List<String> remaining = new ArrayList<>();
+        for (String answer : answers) {
+            if (!done.contains(answer))
+                remaining.add(answer);
+        }
+
+        try (Writer out = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            if (Files.size(checkpoint) == 0) {
+                out.write(header + "\n");
+                if (format == Format.CSV)
+                    out.write(CSV_HEADER + "\n");
+            }
+            stats.merge(play(remaining, out));
+        }
+        return stats;
+    }
+
+    /**
+     * The first line of a checkpoint file, which tells the settings that change
+     * the outcome of the games apart.
+     */
+    String runHeader(IStrategy strategy) {
+        StringBuilder line = new StringBuilder();
+        boolean book = strategy instanceof OpeningBookStrategy;
+        String checksum = Long.toHexString(dictionary.getChecksum());
+        if (format == Format.CSV) {
+            line.append("# strategy=").append(strategy.getName()).append(",book=").append(book);
+            line.append(",dictionary=").append(checksum).append(",max-guesses=").append(maxGuesses);
+        } else {
+            line.append("{\"strategy\":");
+            appendJsonString(line, strategy.getName());
+            line.append(",\"book\":").append(book).append(",\"dictionary\":\"").append(checksum);
+            line.append("\",\"maxGuesses\":").append(maxGuesses).append('}');
+        }
+        return line.toString();
+    }
+
+    /**
+     * Reads the answers of the games in a checkpoint file and adds the games
+     * whose answer is in <code>answers</code> to <code>stats</code>. A last line
+     * without a line break is cut off the file.
+     *
+     * @param header the run header the file must start with
+     * @return the answers in the file, empty if there is no file
+     * @throws IllegalArgumentException if the file is in another format or
+     *                                  starts with another run header
+     */
+    Set<String> readCheckpoint(Path checkpoint, String header, Set<String> answers, AIStatistics stats)
+            throws IOException { // O(a)
+        Set<String> done = new HashSet<>();
+        if (!Files.exists(checkpoint))
+            return done;
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n')
+            end--;
+        if (end < bytes.length) {
+            try (FileChannel channel = FileChannel.open(checkpoint, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+
+        if (end == 0)
+            return done;
+
+        String[] lines = new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n");
+        if ((format == Format.JSON) != lines[0].startsWith("{"))
+            throw new IllegalArgumentException(checkpoint + ":1 is not in " + format + " format");
+        if (!lines[0].equals(header))
+            throw new IllegalArgumentException(checkpoint + " was written by another run: " + lines[0]
+                    + ", but this run is " + header);
+        int lineNumber = 1;
+        for (String line : Arrays.asList(lines).subList(1, lines.length)) {
+            lineNumber++;
+            if (line.isEmpty() || line.equals(CSV_HEADER))
+                continue;
+            if ((format == Format.JSON) != line.startsWith("{"))
+                throw new IllegalArgumentException(checkpoint + ":" + lineNumber + " is not in " + format
+                        + " format");
+            String[] game = parse(line);
+            if (game == null)
+                throw new IllegalArgumentException(checkpoint + ":" + lineNumber + " is not a game");
+            done.add(game[0]);
+            if (!answers.contains(game[0]))
+                continue;
+            if (Boolean.parseBoolean(game[1]))
+                stats.addGame(game[2].isEmpty() ? 0 : game[2].split(" ").length);
+            else
+                stats.failed();
+        }
+        return done;
+    }
+
+    /**
+     * Reads a line written by <code>format</code>.
+     *
+     * @return the answer, whether it was solved and the guesses separated by
+     *         spaces, or null if the line is not a game
+     */
+    private String[] parse(String line) {
+        if (format == Format.CSV) {
+            String[] fields = line.split(",");
+            return fields.length == 5 ? new String[] { fields[0], fields[1], fields[2] } : null;
+        }
+        // Answers and guesses are dictionary words, so they have no escapes
+        String answerKey = "{\"answer\":\"";
+        int answerEnd = line.indexOf('"', answerKey.length());
+        int guessesStart = line.indexOf(",\"guesses\":[");
+        int guessesEnd = line.indexOf(']', Math.max(0, guessesStart));
+        if (!line.startsWith(answerKey) || answerEnd < 0 || guessesStart < 0 || guessesEnd < 0)
+            return null;
+        String guesses = line.substring(guessesStart + ",\"guesses\":[".length(), guessesEnd);
+        return new String[] { line.substring(answerKey.length(), answerEnd),
+                Boolean.toString(line.contains(",\"solved\":true,")), guesses.replace("\"", "").replace(',', ' ') };
+    }
+
+    private AIStatistics play(List<String> answers, Writer out) throws IOException {
+        OrderedWriter writer = new OrderedWriter(out);
+        AtomicInteger nextGame = new AtomicInteger();
+        int threads = Math.max(1, Math.min(nThreads, answers.size()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ResourceUsage.resetHeapPeak();
+        try {
+            List<Future<AIStatistics>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    IStrategy strategy = strategyFactory.get();
+                    AIStatistics stats = new AIStatistics(strategy.getName());
+                    for (int game = nextGame.getAndIncrement(); game < answers.size(); game = nextGame
+                            .getAndIncrement()) {
+                        long allocatedBefore = ResourceUsage.threadAllocatedBytes();
+                        GameResult result = play(strategy, answers.get(game));
+                        if (allocatedBefore >= 0)
+                            stats.addAllocation(ResourceUsage.threadAllocatedBytes() - allocatedBefore);
+                        strategy.reset();
+                        if (result.solved)
+                            stats.addGame(result.guesses.size());
+                        else
+                            stats.failed();
+                        for (int turn = 1; turn <= result.guessNanos.length; turn++) {
+                            stats.recordGuess(turn, result.guessNanos[turn - 1]);
+                        }
+                        writer.write(game, format(result));
+                    }
+                    return stats;
+                }));
+            }
+
+            AIStatistics stats = null;
+            for (Future<AIStatistics> worker : workers) {
+                AIStatistics workerStats = worker.get();
+                if (stats == null)
+                    stats = new AIStatistics(workerStats.getStrategyName());
+                stats.merge(workerStats);
+            }
+            if (stats == null)
+                stats = new AIStatistics(strategyFactory.get().getName());
+            stats.updateHeapPeak(ResourceUsage.heapPeakBytes());
+            return stats;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            throw new IllegalStateException("A game crashed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The guesses of one game and the number of possible answers after each.
+     */
+    static class GameResult {
+        final String answer;
+        final List<String> guesses = new ArrayList<>();
+        final List<Integer> remaining = new ArrayList<>();
+        boolean solved;
+        long micros;
+
+        /**
+         * The time each call to <code>makeGuess</code> took.
+         */
+        long[] guessNanos = new long[0];
+
+        GameResult(String answer) {
+            this.answer = answer;
+        }
+    }
+
+    /**
+     * Plays one game. The game is lost if the strategy needs more than
+     * <code>maxGuesses</code> guesses or gives up by throwing an
+     * IllegalStateException.
+     */
+    GameResult play(IStrategy strategy, String answerWord) { // O(g * m)
+        GameResult result = new GameResult(answerWord);
+        WordleAnswer answer = new WordleAnswer(answerWord, dictionary);
+        WordleWordList candidates = new WordleWordList(dictionary);
+        long start = System.nanoTime();
+        try {
+            WordleWord feedback = null;
+            while (result.guesses.size() < maxGuesses) {
+                long guessStart = System.nanoTime();
+                String guess = strategy.makeGuess(feedback);
+                result.guessNanos = Arrays.copyOf(result.guessNanos, result.guessNanos.length + 1);
+                result.guessNanos[result.guessNanos.length - 1] = System.nanoTime() - guessStart;
+                feedback = answer.makeGuess(guess);
+                candidates.eliminateWords(feedback);
+                result.guesses.add(guess);
+                result.remaining.add(candidates.size());
+                if (feedback.allMatch()) {
+                    result.solved = true;
+                    break;
+                }
+            }
+        } catch (IllegalStateException e) {
+            // The strategy gave up, the game is lost
+        }
+        result.micros = (System.nanoTime() - start) / 1000;
+        return result;
+    }
+
+    String format(GameResult result) {
+        StringBuilder line = new StringBuilder();
+        if (format == Format.CSV) {
+            line.append(result.answer).append(',').append(result.solved).append(',');
+            line.append(String.join(" ", result.guesses)).append(',');
+            for (int i = 0; i < result.remaining.size(); i++) {
+                line.append(i == 0 ? "" : " ").append(result.remaining.get(i));
+            }
+            line.append(',').append(result.micros);
+        } else {
+            line.append("{\"answer\":");
+            appendJsonString(line, result.answer);
+            line.append(",\"solved\":").append(result.solved).append(",\"guesses\":[");
+            for (int i = 0; i < result.guesses.size(); i++) {
+                if (i > 0)
+                    line.append(',');
+                appendJsonString(line, result.guesses.get(i));
+            }
+            line.append("],\"remaining\":").append(result.remaining.toString().replace(" ", ""));
+            line.append(",\"micros\":").append(result.micros).append('}');
+        }
+        return line.append('\n').toString();
+    }
+
+    private static void appendJsonString(StringBuilder line, String s) {
+        line.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\')
+                line.append('\\').append(c);
+            else if (c < 0x20)
+                line.append(String.format("\\u%04x", (int) c));
+            else
+                line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Writes the lines of the games in game order, even though the games finish
+     * in any order. A line is kept until the lines of all earlier games are
+     * written, which is only a few lines since the threads take the games in
+     * order.
+     */
+    private static class OrderedWriter {
+        private final Writer out;
+        private final Map<Integer, String> pending = new HashMap<>();
+        private int next;
+
+        OrderedWriter(Writer out) {
+            this.out = out;
+        }
+
+        synchronized void write(int game, String line) {
+            pending.put(game, line);
+            try {
+                for (String l = pending.remove(next); l != null; l = pending.remove(next)) {
+                    out.write(l);
+                    next++;
+                }
+                if (pending.isEmpty())
+                    out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+
+/**
+ * A complete plan for playing Wordle with one dictionary. Every node holds a
+ * guess, and its children are the nodes to continue from for each feedback
+ * the guess can get. Node 0 is the first guess of every game.
+ * <br>
+ * </br>
+ * The children are kept in one array with a slot for every pattern code of
+ * every node, so following a feedback is a single array lookup.
+ * <br>
+ * </br>
+ * On disk only the edges that exist are stored. The file starts with a header
+ * holding the word length and the checksum of the dictionary, and ends with a
+ * CRC32 of everything before it.
+ */
+public class DecisionTree {
+
+    private static final int MAGIC = 0x57445452; // "WDTR"
+    private static final int VERSION = 1;
+
+    private final int wordLength;
+    private final long dictionaryChecksum;
+    private final int patternCount;
+
+    /**
+     * <code>guessIds[node]</code> is the dictionary id of the guess of the node.
+     */
+    private final int[] guessIds;
+
+    /**
+     * <code>children[node * patternCount + code]</code> is the node to continue
+     * from when the guess of <code>node</code> gets the feedback
+     * <code>code</code>, or -1 if no answer gives that feedback.
+     */
+    private final int[] children;
+
+    DecisionTree(int wordLength, long dictionaryChecksum, int[] guessIds, int[] children) {
+        this.wordLength = wordLength;
+        this.dictionaryChecksum = dictionaryChecksum;
+        this.patternCount = FeedbackPattern.patternCount(wordLength);
+        this.guessIds = guessIds;
+        this.children = children;
+    }
+
+    /**
+     * Creates a tree with room for <code>nodeCount</code> nodes and no edges.
+     */
+    static DecisionTree empty(Dictionary dictionary, int nodeCount) {
+        int[] children = new int[Math.multiplyExact(nodeCount, FeedbackPattern.patternCount(dictionary.WORD_LENGTH))];
+        Arrays.fill(children, -1);
+        return new DecisionTree(dictionary.WORD_LENGTH, dictionary.getChecksum(), new int[nodeCount], children);
+    }
+
+    void setGuessId(int node, int guessId) {
+        guessIds[node] = guessId;
+    }
+
+    void setChild(int node, int code, int child) {
+        children[node * patternCount + code] = child;
+    }
+
+    /**
+     * @return the node of the first guess
+     */
+    public int root() {
+        return 0;
+    }
+
+    /**
+     * Gets the dictionary id of the word to guess at the given node.
+     *
+     * @param node
+     * @return id of the guess
+     */
+    public int guessId(int node) { // O(1)
+        return guessIds[node];
+    }
+
+    /**
+     * Gets the node to continue from when the guess of <code>node</code> gets
+     * the feedback <code>code</code>.
+     *
+     * @param node
+     * @param code pattern code of the feedback
+     * @return the next node, or -1 if the tree has no answer with that feedback
+     */
+    public int child(int node, int code) { // O(1)
+        return children[node * patternCount + code];
+    }
+
+    /**
+     * @return the number of nodes
+     */
+    public int size() {
+        return guessIds.length;
+    }
+
+    /**
+     * Checks if this tree was built for the given dictionary.
+     *
+     * @param dictionary
+     * @return true if the word length and checksum match
+     */
+    public boolean belongsTo(Dictionary dictionary) {
+        return wordLength == dictionary.WORD_LENGTH && dictionaryChecksum == dictionary.getChecksum();
+    }
+
+    /**
+     * Writes this tree to <code>file</code>. The tree is written to a temporary
+     * file first so that a crash never leaves a half written file.
+     *
+     * @param file
+     * @throws IOException
+     */
+    public void write(Path file) throws IOException { // O(nodes * 3^k)
+        Path folder = file.toAbsolutePath().getParent();
+        Files.createDirectories(folder);
+        Path tmp = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)), new CRC32());
+            try (DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(wordLength);
+                out.writeLong(dictionaryChecksum);
+                out.writeInt(guessIds.length);
+                for (int node = 0; node < guessIds.length; node++) {
+                    out.writeInt(guessIds[node]);
+                    out.writeShort(childCount(node));
+                    for (int code = 0; code < patternCount; code++) {
+                        int child = child(node, code);
+                        if (child >= 0) {
+                            out.writeShort(code);
+                            out.writeInt(child);
+                        }
+                    }
+                }
+                out.writeLong(checked.getChecksum().getValue());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int childCount(int node) {
+        int count = 0;
+        for (int code = 0; code < patternCount; code++) {
+            if (child(node, code) >= 0)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads a tree written by <code>write</code>.
+     *
+     * @param file
+     * @param dictionary the dictionary the tree must have been built for
+     * @return the tree
+     * @throws IOException if the file can not be read, is corrupt or belongs
+     *                     to another dictionary
+     */
+    public static DecisionTree read(Path file, Dictionary dictionary) throws IOException { // O(nodes * 3^k)
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)),
+                new CRC32());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException(file + " is not a decision tree file");
+            if (in.readInt() != dictionary.WORD_LENGTH || in.readLong() != dictionary.getChecksum())
+                throw new IOException(file + " was built for another dictionary");
+
+            int nodeCount = in.readInt();
+            if (nodeCount <= 0)
+                throw new IOException(file + " is corrupt");
+            DecisionTree tree = empty(dictionary, nodeCount);
+            for (int node = 0; node < nodeCount; node++) {
+                int guessId = in.readInt();
+                if (!dictionary.isLegalGuess(guessId))
+                    throw new IOException(file + " is corrupt");
+                tree.setGuessId(node, guessId);
+                int childCount = in.readUnsignedShort();
+                for (int i = 0; i < childCount; i++) {
+                    int code = in.readUnsignedShort();
+                    int child = in.readInt();
+                    if (code >= tree.patternCount || child <= node || child >= nodeCount)
+                        throw new IOException(file + " is corrupt");
+                    tree.setChild(node, code, child);
+                }
+            }
+
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected)
+                throw new IOException(file + " is corrupt");
+            return tree;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * Builds the DecisionTree a strategy follows over every word in the answer
+ * list.
+ * <br>
+ * </br>
+ * Each node is found by asking a fresh strategy for a guess after replaying
+ * the feedback on the path to the node. The answers that are still possible
+ * are then split by the feedback the guess gets, and the subtree of each
+ * feedback is built as its own task on a ForkJoinPool.
+ * <br>
+ * </br>
+ * Running the main method builds the tree of the strategy named by the first
+ * argument (default Entropy) and writes it to the file given by the second
+ * argument (default a file in the dictionary's cache folder).
+ */
+public class DecisionTreeBuilder {
+
+    /**
+     * The deepest a tree can be. A strategy that needs more guesses than this is
+     * assumed to be stuck.
+     */
+    public static final int MAX_DEPTH = AIPerformance.MAX_N_GUESSES;
+
+    private final Dictionary dictionary;
+    private final Supplier<IStrategy> strategyFactory;
+    private final ForkJoinPool pool;
+    private final int patternCount;
+    private final int allCorrect;
+
+    public DecisionTreeBuilder(Dictionary dictionary, Supplier<IStrategy> strategyFactory) {
+        this(dictionary, strategyFactory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param dictionary
+     * @param strategyFactory makes a new strategy for every node, so the
+     *                        strategies are never shared between threads
+     * @param pool            pool the subtrees are built on
+     */
+    public DecisionTreeBuilder(Dictionary dictionary, Supplier<IStrategy> strategyFactory, ForkJoinPool pool) {
+        this.dictionary = dictionary;
+        this.strategyFactory = strategyFactory;
+        this.pool = pool;
+        this.patternCount = FeedbackPattern.patternCount(dictionary.WORD_LENGTH);
+        this.allCorrect = FeedbackPattern.allCorrect(dictionary.WORD_LENGTH);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String strategyName = args.length > 0 ? args[0] : "Entropy";
+        Dictionary dictionary = AIPerformance.dictionary;
+        Path file = args.length > 1 ? Path.of(args[1]) : defaultFile(dictionary, strategyName);
+        if (file == null)
+            throw new IllegalArgumentException("The dictionary has no cache folder, give an output file");
+
+        long start = System.nanoTime();
+        Node root = new DecisionTreeBuilder(dictionary, Strategies.factory(strategyName, dictionary)).buildNodes();
+        DecisionTree tree = flatten(dictionary, root);
+        tree.write(file);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Built the decision tree of %s in %d ms: %d nodes, %.3f guesses on average, at most %d%n",
+                strategyName, millis, tree.size(), (double) root.totalGuesses(1) / dictionary.answerCount(),
+                root.maxGuesses(1));
+        System.out.println("Wrote " + file);
+    }
+
+    /**
+     * Gets the file in the cache folder of <code>dictionary</code> where the
+     * tree of the given strategy is stored by default.
+     *
+     * @param dictionary
+     * @param strategyName
+     * @return the file, or null if the dictionary has no cache folder
+     */
+    public static Path defaultFile(Dictionary dictionary, String strategyName) {
+        return dictionary.getCacheFile("decision-tree-" + strategyName.toLowerCase(), ".tree");
+    }
+
+    /**
+     * Builds the tree.
+     *
+     * @return the decision tree
+     * @throws IllegalStateException if the strategy guesses a word that is not
+     *                               in the guess list or does not find every
+     *                               answer within MAX_DEPTH guesses
+     */
+    public DecisionTree build() {
+        return flatten(dictionary, buildNodes());
+    }
+
+    private Node buildNodes() {
+        int[] answers = new int[dictionary.answerCount()];
+        for (int a = 0; a < answers.length; a++) {
+            answers[a] = a;
+        }
+        return pool.invoke(new NodeTask(new ArrayList<>(), answers));
+    }
+
+    /**
+     * Numbers the nodes in pre-order and copies them into a DecisionTree.
+     */
+    private static DecisionTree flatten(Dictionary dictionary, Node root) {
+        DecisionTree tree = DecisionTree.empty(dictionary, root.size());
+        flatten(tree, root, 0);
+        return tree;
+    }
+
+    /**
+     * @return the number of the next node after the subtree of <code>node</code>
+     */
+    private static int flatten(DecisionTree tree, Node node, int number) {
+        tree.setGuessId(number, node.guessId);
+        int next = number + 1;
+        for (int i = 0; i < node.codes.length; i++) {
+            tree.setChild(number, node.codes[i], next);
+            next = flatten(tree, node.children[i], next);
+        }
+        return next;
+    }
+
+    /**
+     * A node of the tree while it is being built.
+     */
+    private static class Node {
+
+        final int guessId;
+        final boolean guessCanBeAnswer;
+        final int[] codes;
+        final Node[] children;
+
+        Node(int guessId, boolean guessCanBeAnswer, int[] codes, Node[] children) {
+            this.guessId = guessId;
+            this.guessCanBeAnswer = guessCanBeAnswer;
+            this.codes = codes;
+            this.children = children;
+        }
+
+        int size() {
+            int size = 1;
+            for (Node child : children) {
+                size += child.size();
+            }
+            return size;
+        }
+
+        /**
+         * @return the sum of the guesses used on the answers in this subtree
+         */
+        long totalGuesses(int depth) {
+            long total = guessCanBeAnswer ? depth : 0;
+            for (Node child : children) {
+                total += child.totalGuesses(depth + 1);
+            }
+            return total;
+        }
+
+        int maxGuesses(int depth) {
+            int max = depth;
+            for (Node child : children) {
+                max = Math.max(max, child.maxGuesses(depth + 1));
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Builds the subtree reached by the feedback in <code>path</code>, where
+     * <code>answers</code> are the answer indices that give that feedback.
+     */
+    private class NodeTask extends RecursiveTask<Node> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<WordleWord> path;
+        private final int[] answers;
+
+        NodeTask(List<WordleWord> path, int[] answers) {
+            this.path = path;
+            this.answers = answers;
+        }
+
+        @Override
+        protected Node compute() { // O(m * k) plus one guess of the strategy
+            if (path.size() >= MAX_DEPTH)
+                throw new IllegalStateException("The strategy did not find the answer within " + MAX_DEPTH
+                        + " guesses after " + path);
+
+            String guess = replay();
+            int guessId = dictionary.getId(guess);
+            if (!dictionary.isLegalGuess(guessId))
+                throw new IllegalStateException("The strategy guessed " + guess + " which is not in the guess list");
+
+            // Split the answers by the feedback they give
+            int[] codes = new int[answers.length];
+            int[] bucketSizes = new int[patternCount];
+            int[] counts = new int[dictionary.alphabetSize()];
+            for (int i = 0; i < answers.length; i++) { // O(m * k)
+                codes[i] = dictionary.match(guessId, dictionary.getAnswerId(answers[i]), counts);
+                bucketSizes[codes[i]]++;
+            }
+            boolean guessCanBeAnswer = bucketSizes[allCorrect] > 0;
+            int[][] buckets = new int[patternCount][];
+            int childCount = 0;
+            for (int code = 0; code < patternCount; code++) {
+                if (bucketSizes[code] > 0 && code != allCorrect) {
+                    buckets[code] = new int[bucketSizes[code]];
+                    childCount++;
+                }
+                bucketSizes[code] = 0;
+            }
+            for (int i = 0; i < answers.length; i++) {
+                int[] bucket = buckets[codes[i]];
+                if (bucket != null)
+                    bucket[bucketSizes[codes[i]]++] = answers[i];
+            }
+
+            int[] childCodes = new int[childCount];
+            List<NodeTask> tasks = new ArrayList<>(childCount);
+            for (int code = 0, i = 0; code < patternCount; code++) {
+                if (buckets[code] == null)
+                    continue;
+                List<WordleWord> childPath = new ArrayList<>(path.size() + 1);
+                childPath.addAll(path);
+                childPath.add(FeedbackPattern.toWordleWord(guess, code));
+                childCodes[i++] = code;
+                tasks.add(new NodeTask(childPath, buckets[code]));
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            Node[] children = new Node[childCount];
+            for (int i = 0; i < childCount; i++) {
+                children[i] = tasks.get(i).join();
+            }
+            return new Node(guessId, guessCanBeAnswer, childCodes, children);
+        }
+
+        /**
+         * Asks a new strategy for its guess after the feedback in the path.
+         */
+        private String replay() {
+            IStrategy strategy = strategyFactory.get();
+            if (path.isEmpty())
+                return strategy.makeGuess(null);
+            for (int i = 0; i < path.size() - 1; i++) {
+                strategy.observe(path.get(i));
+            }
+            return strategy.makeGuess(path.get(path.size() - 1));
+        }
+    }
+}
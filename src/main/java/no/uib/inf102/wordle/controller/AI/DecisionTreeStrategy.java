@@ -0,0 +1,59 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy follows a DecisionTree built offline by DecisionTreeBuilder.
+ * It plays exactly like the strategy the tree was built from, but every guess
+ * is one step down the tree instead of a search over the possible answers.
+ */
+public class DecisionTreeStrategy implements IStrategy {
+
+    private Dictionary dictionary;
+    private DecisionTree tree;
+    private int node;
+
+    public DecisionTreeStrategy(Dictionary dictionary, DecisionTree tree) {
+        if (!tree.belongsTo(dictionary))
+            throw new IllegalArgumentException("The decision tree was built for another dictionary");
+        this.dictionary = dictionary;
+        this.tree = tree;
+        reset();
+    }
+
+    /**
+     * Creates a strategy following the tree stored in <code>file</code>.
+     *
+     * @param dictionary
+     * @param file
+     * @return the strategy
+     * @throws IOException if the file can not be read or belongs to another
+     *                     dictionary
+     */
+    public static DecisionTreeStrategy load(Dictionary dictionary, Path file) throws IOException {
+        return new DecisionTreeStrategy(dictionary, DecisionTree.read(file, dictionary));
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) { // O(k)
+        if (feedback == null) {
+            node = tree.root();
+        } else {
+            int next = tree.child(node, FeedbackPattern.encode(feedback)); // O(k)
+            if (next < 0)
+                throw new IllegalStateException("The decision tree has no answer giving the feedback " + feedback);
+            node = next;
+        }
+        return dictionary.getWord(tree.guessId(node));
+    }
+
+    @Override
+    public void reset() {
+        node = tree.root();
+    }
+}
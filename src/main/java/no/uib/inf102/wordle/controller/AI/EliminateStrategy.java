@@ -2,6 +2,7 @@ package no.uib.inf102.wordle.controller.AI;
 
 import java.util.Random;
 
+import no.uib.inf102.wordle.metrics.GuessEvent;
 import no.uib.inf102.wordle.model.Dictionary;
 import no.uib.inf102.wordle.model.word.WordleWord;
 import no.uib.inf102.wordle.model.word.WordleWordList;
@@ -29,13 +30,22 @@ public class EliminateStrategy implements IStrategy {
 
     @Override
     public String makeGuess(WordleWord feedback) {
+        GuessEvent event = GuessEvent.start(guesses.size());
         if (feedback != null) {
             guesses.eliminateWords(feedback);
         }
 
+        if (guesses.size() == 0)
+            throw new IllegalStateException("No possible answers left");
         // Choose a random word from the possible guesses after eliminating
         int randIndex = random.nextInt(guesses.size());
-        return guesses.possibleAnswers().get(randIndex);
+        return event.finish(getName(), guesses.size(), 0, guesses.possibleAnswers().get(randIndex));
+    }
+
+    @Override
+    public void observe(WordleWord feedback) { // O(m)
+        if (feedback != null)
+            guesses.eliminateWords(feedback);
     }
 
     @Override
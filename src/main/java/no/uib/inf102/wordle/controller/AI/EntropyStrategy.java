@@ -0,0 +1,200 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import no.uib.inf102.wordle.metrics.GuessEvent;
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.LegalGuessList;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * This strategy guesses the word that gives the most information about the
+ * answer. Every word in the guess word list splits the possible answers into
+ * groups by the feedback it would get, and the word whose groups have the
+ * highest entropy is chosen.
+ * <br>
+ * </br>
+ * The guess words are scored in parallel on a ForkJoinPool. Each worker thread
+ * has its own PartitionStatistics, so the scoring allocates nothing.
+ * <br>
+ * </br>
+ * In hard mode only the guesses that are consistent with the feedback so far
+ * are scored. They are kept in a LegalGuessList, which is updated once per
+ * turn.
+ */
+public class EntropyStrategy implements IStrategy {
+
+    /**
+     * Number of guess words each task scores before splitting.
+     */
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private Dictionary dictionary;
+    private WordleWordList guesses;
+    private ForkJoinPool pool;
+
+    /**
+     * The feedback matrix of the dictionary, or null if the dictionary is too
+     * large for one. Then the feedback is scored from the packed letters.
+     */
+    private FeedbackMatrix matrix;
+
+    private ThreadLocal<PartitionStatistics> partitions;
+
+    private final boolean hardMode;
+
+    /**
+     * The guesses that are legal in hard mode, or null when not in hard mode.
+     */
+    private LegalGuessList legalGuesses;
+
+    public EntropyStrategy(Dictionary dictionary) {
+        this(dictionary, ForkJoinPool.commonPool());
+    }
+
+    public EntropyStrategy(Dictionary dictionary, ForkJoinPool pool) {
+        this(dictionary, pool, false);
+    }
+
+    /**
+     * @param dictionary
+     * @param pool       pool the guesses are scored on
+     * @param hardMode   if true, only guesses that fit the feedback so far are
+     *                   made
+     */
+    public EntropyStrategy(Dictionary dictionary, ForkJoinPool pool, boolean hardMode) {
+        this.dictionary = dictionary;
+        this.pool = pool;
+        this.hardMode = hardMode;
+        this.partitions = ThreadLocal
+                .withInitial(() -> new PartitionStatistics(dictionary.WORD_LENGTH, dictionary.answerCount()));
+        reset();
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) { // O(n * m)
+        GuessEvent event = GuessEvent.start(guesses.size());
+        observe(feedback); // O(m), or O(n * k) in hard mode
+
+        int[] candidates = possibleAnswers(); // O(m)
+        if (candidates.length == 0)
+            throw new IllegalStateException("No possible answers left");
+        if (candidates.length <= 2)
+            return event.finish(getName(), candidates.length, 0,
+                    dictionary.getAnswerWordsList().get(candidates[0]));
+
+        if (matrix == null && FeedbackMatrix.supports(dictionary))
+            matrix = dictionary.getFeedbackMatrix();
+        long best = pool.invoke(new ScoreTask(candidates, 0, dictionary.guessCount())); // O(n * m)
+        int scored = legalGuesses == null ? dictionary.guessCount() : legalGuesses.size();
+        if (best == Long.MIN_VALUE) // no legal guess in the guess list
+            return event.finish(getName(), candidates.length, scored,
+                    dictionary.getAnswerWordsList().get(candidates[0]));
+        return event.finish(getName(), candidates.length, scored, dictionary.getWord(bestId(best)));
+    }
+
+    private int[] possibleAnswers() { // O(m)
+        int[] candidates = new int[guesses.size()];
+        int i = 0;
+        for (int a = guesses.nextPossibleAnswer(0); a >= 0; a = guesses.nextPossibleAnswer(a + 1)) {
+            candidates[i++] = a;
+        }
+        return candidates;
+    }
+
+    /**
+     * Packs a score into a long so that a larger long is a better guess: the
+     * entropy first, then whether the guess can be the answer, then the lowest
+     * id.
+     */
+    private long pack(double entropy, boolean candidate, int guessId) {
+        long bits = Math.round(entropy * (1L << 32));
+        return (bits << 24) | (candidate ? 1L << 23 : 0) | (0x7FFFFF - guessId);
+    }
+
+    private static int bestId(long packed) {
+        return 0x7FFFFF - (int) (packed & 0x7FFFFF);
+    }
+
+    /**
+     * Scores the guess words with ids from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) and returns the best one packed into a long.
+     */
+    private class ScoreTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+
+        ScoreTask(int[] candidates, int from, int to) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                ScoreTask left = new ScoreTask(candidates, from, mid);
+                left.fork();
+                long right = new ScoreTask(candidates, mid, to).compute();
+                return Math.max(left.join(), right);
+            }
+
+            PartitionStatistics partition = partitions.get();
+            long best = Long.MIN_VALUE;
+            // O((to - from) * m)
+            for (int guessId = nextGuess(from); guessId >= 0 && guessId < to; guessId = nextGuess(guessId + 1)) {
+                if (matrix != null)
+                    partition.partition(matrix, guessId, candidates);
+                else
+                    partition.partition(dictionary, guessId, candidates); // O(m * k)
+                double entropy = partition.entropy();
+                boolean candidate = isCandidate(guessId);
+                best = Math.max(best, pack(entropy, candidate, guessId));
+            }
+            return best;
+        }
+
+        private boolean isCandidate(int guessId) {
+            int answerIndex = dictionary.getAnswerIndex(guessId);
+            return answerIndex >= 0 && guesses.isPossibleAnswer(answerIndex);
+        }
+    }
+
+    /**
+     * @return the first guess id at or after <code>fromId</code> that may be
+     *         guessed, or -1
+     */
+    private int nextGuess(int fromId) { // O(1) amortized
+        if (legalGuesses == null)
+            return fromId < dictionary.guessCount() ? fromId : -1;
+        return legalGuesses.nextLegal(fromId);
+    }
+
+    @Override
+    public void observe(WordleWord feedback) { // O(m), or O(n * k) in hard mode
+        if (feedback == null)
+            return;
+        guesses.eliminateWords(feedback);
+        if (legalGuesses != null)
+            legalGuesses.add(feedback);
+    }
+
+    @Override
+    public void reset() {
+        guesses = new WordleWordList(dictionary);
+        legalGuesses = hardMode ? new LegalGuessList(dictionary) : null;
+    }
+
+    @Override
+    public String getName() {
+        return hardMode ? "HardEntropyStrategy" : IStrategy.super.getName();
+    }
+}
@@ -3,6 +3,7 @@ package no.uib.inf102.wordle.controller.AI;
 import java.util.HashMap;
 import java.util.List;
 
+import no.uib.inf102.wordle.metrics.GuessEvent;
 import no.uib.inf102.wordle.model.Dictionary;
 import no.uib.inf102.wordle.model.word.WordleWord;
 import no.uib.inf102.wordle.model.word.WordleWordList;
@@ -23,18 +24,22 @@ public class FrequencyStrategy implements IStrategy {
 
     @Override
     public String makeGuess(WordleWord feedback) { // O(m * k)
+        GuessEvent event = GuessEvent.start(guesses.size());
         // fjerner ikke ord ved første gjett
         if (feedback != null) {
             guesses.eliminateWords(feedback); // O(m * k)
         }
 
         List<String> possibleWords = guesses.possibleAnswers(); // O(1)
+        if (possibleWords.isEmpty())
+            throw new IllegalStateException("No possible answers left");
 
         if (possibleWords.size() == 1) {
-            return possibleWords.get(0); // O(1)
+            return event.finish(getName(), 1, 0, possibleWords.get(0)); // O(1)
         }
 
-        return findBestWord(possibleWords); // O(m * k)
+        return event.finish(getName(), possibleWords.size(), possibleWords.size(),
+                findBestWord(possibleWords)); // O(m * k)
     }
 
     /**
@@ -45,7 +50,7 @@ public class FrequencyStrategy implements IStrategy {
      * @return the highest scoring word
      */
     private String findBestWord(List<String> possibleAnswers) { // O(m * k)
-        HashMap<Character, Integer>[] frequency = getFrequencyForEachPos(possibleAnswers); // O(m*k)
+        HashMap<Character, Integer>[] frequency = getFrequencyForEachPos(possibleAnswers, dictionary.WORD_LENGTH); // O(m*k)
 
         // her lagrer jeg beste score og word til å sammenligne resten
         String bestWord = null;
@@ -89,11 +94,11 @@ public class FrequencyStrategy implements IStrategy {
      * words.
      * 
      * @param possibleWords a list of words to analyze
+     * @param wordLength    the length of the words
      * @return an array of frequency maps, where each map contains the frequency of
      *         letters at a specific position
      */
-    static HashMap<Character, Integer>[] getFrequencyForEachPos(List<String> possibleWords) { // O(m*k)
-        int wordLength = possibleWords.get(0).length();
+    static HashMap<Character, Integer>[] getFrequencyForEachPos(List<String> possibleWords, int wordLength) { // O(m*k)
         @SuppressWarnings("unchecked")
         HashMap<Character, Integer>[] frequency = new HashMap[wordLength];
 
@@ -113,6 +118,12 @@ public class FrequencyStrategy implements IStrategy {
         return frequency;
     }
 
+    @Override
+    public void observe(WordleWord feedback) { // O(m)
+        if (feedback != null)
+            guesses.eliminateWords(feedback);
+    }
+
     @Override
     public void reset() {
         guesses = new WordleWordList(dictionary);
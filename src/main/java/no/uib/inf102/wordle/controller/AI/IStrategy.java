@@ -11,10 +11,34 @@ public interface IStrategy {
      */
     String makeGuess(WordleWord feedback);
 
+    /**
+     * Update the strategy with the <code>feedback</code> of a guess it did not
+     * have to choose itself, for instance when a game is replayed. After this
+     * call the strategy is in the same state as if it had made the guess.
+     * <br>
+     * </br>
+     * The default implementation makes a guess and throws it away. Strategies
+     * should override it with something cheaper.
+     * 
+     * @param feedback
+     */
+    default void observe(WordleWord feedback) {
+        makeGuess(feedback);
+    }
+
     /**
      * This method is called when there is a new word to guess.
      * It should reset any internal variables to make guesses for a new word.
      */
     void reset();
 
+    /**
+     * Gets the name shown for this strategy in statistics.
+     * 
+     * @return the name of the strategy
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
 }
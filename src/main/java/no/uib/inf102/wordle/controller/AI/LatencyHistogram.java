@@ -0,0 +1,115 @@
+package no.uib.inf102.wordle.controller.AI;
+
+/**
+ * A histogram of durations in nanoseconds with buckets that grow
+ * exponentially, so it covers everything from a nanosecond to years in a
+ * fixed array. Each power of two is split into SUB_BUCKETS buckets, so a
+ * percentile is at most 1/SUB_BUCKETS, about 3%, above the true value. The
+ * largest value is kept exactly.
+ * <br>
+ * </br>
+ * Recording is O(1) and allocates nothing, so it can be done around every
+ * guess. Histograms recorded on different threads are combined with
+ * <code>merge</code>. An object must not be shared between threads while
+ * recording.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Values below 2 * SUB_BUCKETS have a bucket each, and each power of two
+     * above has SUB_BUCKETS buckets.
+     */
+    private final long[] counts = new long[(Long.SIZE - SUB_BITS) * SUB_BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Records a duration. Negative durations are recorded as 0.
+     *
+     * @param nanos
+     */
+    public void record(long nanos) { // O(1)
+        long value = Math.max(0, nanos);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    private static int index(long value) { // O(1)
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @return the largest value that falls in bucket <code>index</code>
+     */
+    private static long highestValue(int index) { // O(1)
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Adds the values recorded in <code>other</code> to this histogram.
+     *
+     * @param other
+     */
+    public void merge(LatencyHistogram other) { // O(buckets)
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the value that <code>p</code> percent of the recorded values are
+     * less than or equal to, rounded up to the end of its bucket.
+     *
+     * @param p percentile between 0 and 100
+     * @return the value at the percentile, or 0 if nothing is recorded
+     */
+    public long percentile(double p) { // O(buckets)
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the largest recorded value, or 0 if nothing is recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if nothing is recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : sum / (double) count;
+    }
+}
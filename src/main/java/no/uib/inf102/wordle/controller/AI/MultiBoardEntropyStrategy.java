@@ -0,0 +1,296 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import no.uib.inf102.wordle.metrics.GuessEvent;
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * Plays several boards at once from one stream of guesses, as in
+ * <code>MultiBoardGame</code>. Each board has its own possible answers, and
+ * the guess with the highest combined entropy over the unsolved boards is
+ * chosen. The answers of different boards are independent, so the combined
+ * entropy is the sum of the entropy on each board.
+ * <br>
+ * </br>
+ * When a board has only one possible answer left, that answer is guessed
+ * first, since it solves the board and still gives feedback on the others.
+ * <br>
+ * </br>
+ * The possible answers of the unsolved boards are kept in one array with an
+ * offset per board, and boards with the same possible answers are scored once
+ * and counted several times, so the opening guess costs no more than for one
+ * board. The guess words are scored in parallel on a ForkJoinPool like in
+ * EntropyStrategy, each worker thread with its own PartitionStatistics.
+ */
+public class MultiBoardEntropyStrategy {
+
+    /**
+     * Number of guess words each task scores before splitting.
+     */
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final Dictionary dictionary;
+    private final ForkJoinPool pool;
+    private final int boardCount;
+
+    /**
+     * The feedback matrix of the dictionary, or null if the dictionary is too
+     * large for one.
+     */
+    private FeedbackMatrix matrix;
+
+    private final ThreadLocal<PartitionStatistics> partitions;
+
+    private WordleWordList[] boards;
+    private boolean[] solved;
+
+    public MultiBoardEntropyStrategy(Dictionary dictionary, int boardCount) {
+        this(dictionary, boardCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param dictionary
+     * @param boardCount number of boards in the game
+     * @param pool       pool the guesses are scored on
+     */
+    public MultiBoardEntropyStrategy(Dictionary dictionary, int boardCount, ForkJoinPool pool) {
+        if (boardCount < 1)
+            throw new IllegalArgumentException("A game needs at least one board");
+        this.dictionary = dictionary;
+        this.boardCount = boardCount;
+        this.pool = pool;
+        this.partitions = ThreadLocal
+                .withInitial(() -> new PartitionStatistics(dictionary.WORD_LENGTH, dictionary.answerCount()));
+        reset();
+    }
+
+    /**
+     * Makes the next guess based on the feedback of the last one.
+     *
+     * @param feedback the feedback of each board on the last guess, null for
+     *                 boards that were already solved, or null for the first
+     *                 guess
+     * @return the guess
+     */
+    public String makeGuess(WordleWord[] feedback) { // O(n * M) where M is the possible answers of all boards
+        GuessEvent event = GuessEvent.start(candidateCount());
+        observe(feedback); // O(N * m)
+
+        int[][] candidates = new int[boardCount][];
+        for (int b = 0; b < boardCount; b++) {
+            if (solved[b])
+                continue;
+            candidates[b] = possibleAnswers(boards[b]); // O(m)
+            if (candidates[b].length == 0)
+                throw new IllegalStateException("No possible answers left on board " + b);
+            if (candidates[b].length == 1)
+                return event.finish(getName(), candidateCount(), 0,
+                        dictionary.getAnswerWordsList().get(candidates[b][0]));
+        }
+
+        Groups groups = new Groups(candidates); // O(N^2 * m)
+        if (matrix == null && FeedbackMatrix.supports(dictionary))
+            matrix = dictionary.getFeedbackMatrix();
+        long best = pool.invoke(new ScoreTask(groups, 0, dictionary.guessCount())); // O(n * M)
+        return event.finish(getName(), candidateCount(), dictionary.guessCount(),
+                dictionary.getWord(bestId(best)));
+    }
+
+    private static int[] possibleAnswers(WordleWordList list) { // O(m)
+        int[] candidates = new int[list.size()];
+        int i = 0;
+        for (int a = list.nextPossibleAnswer(0); a >= 0; a = list.nextPossibleAnswer(a + 1)) {
+            candidates[i++] = a;
+        }
+        return candidates;
+    }
+
+    /**
+     * The possible answers of the unsolved boards in one array, where boards
+     * with the same possible answers share a group. Group <code>g</code> has
+     * the answers from <code>start[g]</code> to <code>start[g + 1]</code> and
+     * is counted <code>weight[g]</code> times.
+     */
+    private static class Groups {
+        final int[] answers;
+        final int[] start;
+        final int[] weight;
+        final int count;
+
+        Groups(int[][] candidates) { // O(N^2 * m)
+            int[][] distinct = new int[candidates.length][];
+            int[] weights = new int[candidates.length];
+            int groupCount = 0;
+            int total = 0;
+            for (int[] board : candidates) {
+                if (board == null)
+                    continue;
+                int g = 0;
+                while (g < groupCount && !Arrays.equals(distinct[g], board))
+                    g++;
+                if (g == groupCount) {
+                    distinct[groupCount++] = board;
+                    total += board.length;
+                }
+                weights[g]++;
+            }
+
+            this.count = groupCount;
+            this.answers = new int[total];
+            this.start = new int[groupCount + 1];
+            this.weight = Arrays.copyOf(weights, groupCount);
+            for (int g = 0; g < groupCount; g++) {
+                System.arraycopy(distinct[g], 0, answers, start[g], distinct[g].length);
+                start[g + 1] = start[g] + distinct[g].length;
+            }
+        }
+    }
+
+    /**
+     * Packs a score into a long so that a larger long is a better guess: the
+     * combined entropy first, then whether the guess can be the answer on some
+     * board, then the lowest id. The entropy of 16 boards can be more than 180
+     * bits, so it has fewer fraction bits than in EntropyStrategy.
+     */
+    private static long pack(double entropy, boolean candidate, int guessId) {
+        long bits = Math.round(entropy * (1L << 24));
+        return (bits << 24) | (candidate ? 1L << 23 : 0) | (0x7FFFFF - guessId);
+    }
+
+    private static int bestId(long packed) {
+        return 0x7FFFFF - (int) (packed & 0x7FFFFF);
+    }
+
+    /**
+     * Scores the guess words with ids from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) and returns the best one packed into a long.
+     */
+    private class ScoreTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Groups groups;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Groups groups, int from, int to) {
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                ScoreTask left = new ScoreTask(groups, from, mid);
+                left.fork();
+                long right = new ScoreTask(groups, mid, to).compute();
+                return Math.max(left.join(), right);
+            }
+
+            PartitionStatistics partition = partitions.get();
+            long best = Long.MIN_VALUE;
+            for (int guessId = from; guessId < to; guessId++) { // O((to - from) * M)
+                double entropy = 0;
+                for (int g = 0; g < groups.count; g++) {
+                    if (matrix != null)
+                        partition.partition(matrix, guessId, groups.answers, groups.start[g], groups.start[g + 1]);
+                    else
+                        partition.partition(dictionary, guessId, groups.answers, groups.start[g],
+                                groups.start[g + 1]);
+                    entropy += groups.weight[g] * partition.entropy();
+                }
+                best = Math.max(best, pack(entropy, isCandidate(guessId), guessId));
+            }
+            return best;
+        }
+
+        private boolean isCandidate(int guessId) { // O(N)
+            int answerIndex = dictionary.getAnswerIndex(guessId);
+            if (answerIndex < 0)
+                return false;
+            for (int b = 0; b < boardCount; b++) {
+                if (!solved[b] && boards[b].isPossibleAnswer(answerIndex))
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Updates the possible answers of each board with the feedback of a guess.
+     *
+     * @param feedback the feedback of each board, null for boards that were
+     *                 already solved, or null if there is no feedback
+     */
+    public void observe(WordleWord[] feedback) { // O(N * m)
+        if (feedback == null)
+            return;
+        if (feedback.length != boardCount)
+            throw new IllegalArgumentException("Expected feedback for " + boardCount + " boards, got "
+                    + feedback.length);
+        for (int b = 0; b < boardCount; b++) {
+            if (solved[b] || feedback[b] == null)
+                continue;
+            if (feedback[b].allMatch())
+                solved[b] = true;
+            else
+                boards[b].eliminateWords(feedback[b]); // O(m)
+        }
+    }
+
+    /**
+     * Starts a new game where every answer is possible on every board.
+     */
+    public void reset() { // O(N * m)
+        boards = new WordleWordList[boardCount];
+        for (int b = 0; b < boardCount; b++) {
+            boards[b] = new WordleWordList(dictionary);
+        }
+        solved = new boolean[boardCount];
+    }
+
+    /**
+     * @param board
+     * @return the number of answers still possible on the board, 0 if it is
+     *         solved
+     */
+    public int candidateCount(int board) {
+        return solved[board] ? 0 : boards[board].size();
+    }
+
+    /**
+     * @return the number of answers still possible on all unsolved boards
+     *         together
+     */
+    public int candidateCount() { // O(N)
+        int count = 0;
+        for (int b = 0; b < boardCount; b++) {
+            count += candidateCount(b);
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of boards
+     */
+    public int boardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Gets the name shown for this strategy in statistics.
+     * 
+     * @return the name of the strategy
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+}
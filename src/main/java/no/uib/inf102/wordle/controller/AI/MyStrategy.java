@@ -5,8 +5,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
 
+import no.uib.inf102.wordle.metrics.GuessEvent;
 import no.uib.inf102.wordle.model.Dictionary;
-import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
 import no.uib.inf102.wordle.model.word.WordleWord;
 import no.uib.inf102.wordle.model.word.WordleWordList;
 
@@ -14,26 +15,32 @@ public class MyStrategy implements IStrategy {
 
     private Dictionary dictionary;
     private WordleWordList guesses;
+    private PartitionStatistics partition;
 
     public MyStrategy(Dictionary dictionary) {
         this.dictionary = dictionary;
+        this.partition = new PartitionStatistics(dictionary.WORD_LENGTH, dictionary.answerCount());
         reset();
     }
 
     @Override
     public String makeGuess(WordleWord feedback) { // O(m * k), same as frequencyStrategy
+        GuessEvent event = GuessEvent.start(guesses.size());
 
         if (feedback != null) {
             guesses.eliminateWords(feedback); // O(m) * O(k) = O(m * k)
         }
 
         List<String> possibleWords = guesses.possibleAnswers(); // O(1)
+        if (possibleWords.isEmpty())
+            throw new IllegalStateException("No possible answers left");
 
         if (possibleWords.size() == 1) { // O(1)
-            return possibleWords.get(0); // O(1)
+            return event.finish(getName(), 1, 0, possibleWords.get(0)); // O(1)
         }
 
-        return findBestWord(possibleWords); // O(m * k)
+        return event.finish(getName(), possibleWords.size(), possibleWords.size(),
+                findBestWord(possibleWords)); // O(m * k)
     }
 
     /**
@@ -45,7 +52,7 @@ public class MyStrategy implements IStrategy {
      *         uniqueness
      */
     private String findBestWord(List<String> possibleWords) { // O(m * k)
-        HashMap<Character, Integer>[] frequency = FrequencyStrategy.getFrequencyForEachPos(possibleWords); // O(m * k)
+        HashMap<Character, Integer>[] frequency = FrequencyStrategy.getFrequencyForEachPos(possibleWords, dictionary.WORD_LENGTH); // O(m * k)
         String bestWord = null;
         int bestScore = 0;
         // lagrer alle ord med høyest score i denne lista
@@ -70,8 +77,8 @@ public class MyStrategy implements IStrategy {
         }
 
         // ved mange mulige ord, bruker jeg ikke det første ordet med best score
-        if (possibleWords.size() > possibleWords.get(0).length()) { // O(1)
-            return getEliminationWord(bestWords); // O(j * m * k) where j < 10
+        if (possibleWords.size() > dictionary.WORD_LENGTH) { // O(1)
+            return getEliminationWord(bestWords); // O(j * m) where j < 10
         }
         return bestWord;
     }
@@ -124,36 +131,15 @@ public class MyStrategy implements IStrategy {
      * @param bestWords a list of the best scoring words
      * @return returns the word with best worst-case scenario
      */
-    private String getEliminationWord(List<String> bestWords) { // O(j * m * k) where j <= 10
+    private String getEliminationWord(List<String> bestWords) { // O(j * m) where j <= 10
         // representerer den minste av den største feedbackgruppen for alle gjett
-        int minRemainingWords = guesses.possibleAnswers().size();
+        int minRemainingWords = guesses.size();
         String bestGuess = null;
 
         // itererer gjennom alle de beste ordene
-        for (String guess : bestWords) { // O(j) * O(m * k)
-
+        for (String guess : bestWords) { // O(j) * O(m)
             // størrelse på hver feedback-gruppe representerer worst-case gjenværenede ord
-            HashMap<WordleWord, List<String>> feedbackGroups = new HashMap<>();
-
-            // hvert gjett blir sammenlignet med alle mulige svar
-            for (String possible : guesses.possibleAnswers()) { // O(m * k)
-                // genererer feedback for hvert par med gjett-muligsvar
-                WordleWord feedback = WordleAnswer.matchWord(guess, possible); // O(k)
-
-                // alle svar med samme feedback blir gruppert sammen
-                if (!feedbackGroups.containsKey(feedback)) { // O(k)
-                    feedbackGroups.put(feedback, new ArrayList<>()); // O(1)
-                }
-                feedbackGroups.get(feedback).add(possible); // O(1)
-            }
-
-            int maxRemainingWords = 0;
-            // for hvert gjett vil vi finne den minste feedbackgruppen
-            for (List<String> group : feedbackGroups.values()) { // O(m)
-                if (group.size() > maxRemainingWords) {
-                    maxRemainingWords = group.size();
-                }
-            }
+            int maxRemainingWords = partition(guess).maxBucket(); // O(m)
 
             if (maxRemainingWords < minRemainingWords) {
                 minRemainingWords = maxRemainingWords;
@@ -164,6 +150,23 @@ public class MyStrategy implements IStrategy {
         return bestGuess;
     }
 
+    /**
+     * Groups the possible answers by the feedback <code>guess</code> gets from
+     * them. Uses the feedback matrix when the guess is in it.
+     */
+    private PartitionStatistics partition(String guess) { // O(m)
+        int guessIndex = dictionary.getGuessIndex(guess);
+        if (guessIndex >= 0 && FeedbackMatrix.supports(dictionary))
+            return partition.partition(dictionary.getFeedbackMatrix(), guessIndex, guesses); // O(m)
+        return partition.partition(guess, guesses.possibleAnswers()); // O(m * k^2)
+    }
+
+    @Override
+    public void observe(WordleWord feedback) { // O(m)
+        if (feedback != null)
+            guesses.eliminateWords(feedback);
+    }
+
     @Override
     public void reset() {
         guesses = new WordleWordList(dictionary); // Reset the word list
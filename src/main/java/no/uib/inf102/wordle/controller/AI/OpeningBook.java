@@ -0,0 +1,191 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+
+/**
+ * The first guess of a strategy and its second guess for each feedback the
+ * first guess can get. For a strategy that does not use randomness these
+ * guesses are the same in every game, so they only have to be found once.
+ * <br>
+ * </br>
+ * A book is filled in as the guesses are found and can be shared by strategies
+ * on several threads. It is stored in the dictionary's cache folder under the
+ * name of the strategy, so a later run starts with a full book.
+ */
+public class OpeningBook {
+
+    private static final int MAGIC = 0x574f424b; // "WOBK"
+    private static final int VERSION = 1;
+    private static final int UNKNOWN = -1;
+
+    private final Dictionary dictionary;
+    private final Path file;
+
+    /**
+     * Slot 0 is the id of the first guess, slot <code>1 + code</code> is the id
+     * of the second guess after the feedback <code>code</code>. Unknown guesses
+     * are -1.
+     */
+    private final AtomicIntegerArray guessIds;
+
+    private volatile boolean changed;
+
+    private OpeningBook(Dictionary dictionary, Path file) {
+        this.dictionary = dictionary;
+        this.file = file;
+        this.guessIds = new AtomicIntegerArray(1 + FeedbackPattern.patternCount(dictionary.WORD_LENGTH));
+        for (int i = 0; i < guessIds.length(); i++) {
+            guessIds.set(i, UNKNOWN);
+        }
+    }
+
+    /**
+     * Creates an empty book which is only kept in memory.
+     *
+     * @param dictionary
+     * @return an empty book
+     */
+    public static OpeningBook inMemory(Dictionary dictionary) {
+        return new OpeningBook(dictionary, null);
+    }
+
+    /**
+     * Gets the book of the strategy with the given name from the dictionary's
+     * cache folder. If there is no such file, or it belongs to another
+     * dictionary or is corrupt, the book starts empty.
+     *
+     * @param dictionary
+     * @param strategyName
+     * @return the book
+     */
+    public static OpeningBook load(Dictionary dictionary, String strategyName) {
+        Path file = dictionary.getCacheFile("opening-book-" + strategyName.toLowerCase(), ".book");
+        OpeningBook book = new OpeningBook(dictionary, file);
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                book.read();
+            } catch (IOException e) {
+                System.err.println("Could not read opening book " + file + ": " + e.getMessage());
+                book = new OpeningBook(dictionary, file);
+            }
+        }
+        return book;
+    }
+
+    /**
+     * @return the first guess, or null if it is not known yet
+     */
+    public String firstGuess() { // O(1)
+        return word(guessIds.get(0));
+    }
+
+    /**
+     * @param code pattern code of the feedback on the first guess
+     * @return the second guess after that feedback, or null if it is not known
+     *         yet
+     */
+    public String secondGuess(int code) { // O(1)
+        return word(guessIds.get(1 + code));
+    }
+
+    public void putFirstGuess(String guess) {
+        put(0, guess);
+    }
+
+    public void putSecondGuess(int code, String guess) {
+        put(1 + code, guess);
+    }
+
+    private String word(int id) {
+        return id == UNKNOWN ? null : dictionary.getWord(id);
+    }
+
+    private void put(int slot, String guess) {
+        int id = dictionary.getId(guess);
+        if (!dictionary.isLegalGuess(id))
+            throw new IllegalArgumentException(guess + " is not in the guess list");
+        if (guessIds.getAndSet(slot, id) != id)
+            changed = true;
+    }
+
+    /**
+     * Writes the book to the cache folder if anything has been added since it
+     * was loaded. Errors are reported but not thrown, since the book is only a
+     * cache.
+     */
+    public void save() {
+        if (file == null || !changed)
+            return;
+        changed = false;
+        try {
+            write();
+        } catch (IOException e) {
+            changed = true;
+            System.err.println("Could not write opening book " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the book to a temporary file first so that a crash never leaves a
+     * half written book.
+     */
+    private void write() throws IOException {
+        Path folder = file.toAbsolutePath().getParent();
+        Files.createDirectories(folder);
+        Path tmp = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)), new CRC32());
+            try (DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(dictionary.WORD_LENGTH);
+                out.writeLong(dictionary.getChecksum());
+                for (int i = 0; i < guessIds.length(); i++) {
+                    out.writeInt(guessIds.get(i));
+                }
+                out.writeLong(checked.getChecksum().getValue());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void read() throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)),
+                new CRC32());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != dictionary.WORD_LENGTH
+                    || in.readLong() != dictionary.getChecksum())
+                throw new IOException("not an opening book for this dictionary");
+            int[] ids = new int[guessIds.length()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = in.readInt();
+                if (ids[i] != UNKNOWN && !dictionary.isLegalGuess(ids[i]))
+                    throw new IOException("corrupt opening book");
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected)
+                throw new IOException("corrupt opening book");
+            for (int i = 0; i < ids.length; i++) {
+                guessIds.set(i, ids[i]);
+            }
+        }
+    }
+}
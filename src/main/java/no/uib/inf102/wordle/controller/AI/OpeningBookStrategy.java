@@ -0,0 +1,81 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * Wraps a strategy so that its first two guesses are looked up in an
+ * OpeningBook. A guess that is not in the book yet is made by the wrapped
+ * strategy and added to the book. When a guess comes from the book, the
+ * wrapped strategy is only told the feedback, see <code>IStrategy::observe</code>.
+ * <br>
+ * </br>
+ * Only strategies that always make the same guesses for the same feedback
+ * should be wrapped, otherwise the book changes how they play.
+ */
+public class OpeningBookStrategy implements IStrategy {
+
+    private IStrategy strategy;
+    private OpeningBook book;
+
+    /**
+     * Number of feedbacks given to this strategy in the current game.
+     */
+    private int feedbackCount;
+
+    public OpeningBookStrategy(IStrategy strategy, OpeningBook book) {
+        this.strategy = strategy;
+        this.book = book;
+        reset();
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) { // O(k) when the guess is in the book
+        if (feedback != null)
+            feedbackCount++;
+        if (feedbackCount == 0)
+            return firstGuess();
+        if (feedbackCount == 1)
+            return secondGuess(feedback);
+        return strategy.makeGuess(feedback);
+    }
+
+    private String firstGuess() {
+        String guess = book.firstGuess();
+        if (guess == null) {
+            guess = strategy.makeGuess(null);
+            book.putFirstGuess(guess);
+        }
+        return guess;
+    }
+
+    private String secondGuess(WordleWord feedback) {
+        int code = FeedbackPattern.encode(feedback); // O(k)
+        String guess = book.secondGuess(code);
+        if (guess == null) {
+            guess = strategy.makeGuess(feedback);
+            book.putSecondGuess(code, guess);
+        } else {
+            strategy.observe(feedback);
+        }
+        return guess;
+    }
+
+    @Override
+    public void observe(WordleWord feedback) {
+        if (feedback != null)
+            feedbackCount++;
+        strategy.observe(feedback);
+    }
+
+    @Override
+    public void reset() {
+        strategy.reset();
+        feedbackCount = 0;
+    }
+
+    @Override
+    public String getName() {
+        return strategy.getName();
+    }
+}
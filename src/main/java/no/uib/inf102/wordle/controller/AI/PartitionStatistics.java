@@ -0,0 +1,312 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.List;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * The partition a guess makes of the possible answers, where answers that give
+ * the same feedback are in the same bucket. Only the size of each bucket is
+ * kept, in an array indexed by pattern code.
+ * <br>
+ * </br>
+ * One object is meant to be reused for every guess a strategy considers. The
+ * codes of the non-empty buckets are remembered, so clearing the partition and
+ * computing the statistics costs O(buckets) and not O(3^k). An object must not
+ * be shared between threads.
+ */
+public class PartitionStatistics {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final int[] bucketSizes;
+
+    /**
+     * The codes of the non-empty buckets, in the order they were first used.
+     */
+    private final int[] usedCodes;
+    private int bucketCount;
+    private int total;
+
+    /**
+     * <code>nLog2n[s]</code> is s * log2(s) for the bucket sizes that are
+     * expected.
+     */
+    private final double[] nLog2n;
+
+    /**
+     * Scratch array for <code>Dictionary::match</code>, made the first time it
+     * is needed.
+     */
+    private int[] letterCounts;
+
+    /**
+     * @param wordLength
+     * @param maxTotal   the largest number of answers that will be partitioned,
+     *                   used to precompute the logarithms of the entropy. More
+     *                   answers are allowed but slower.
+     */
+    public PartitionStatistics(int wordLength, int maxTotal) {
+        int patternCount = FeedbackPattern.patternCount(wordLength);
+        this.bucketSizes = new int[patternCount];
+        this.usedCodes = new int[patternCount];
+        this.nLog2n = new double[maxTotal + 1];
+        for (int s = 2; s < nLog2n.length; s++) {
+            nLog2n[s] = s * Math.log(s) / LN_2;
+        }
+    }
+
+    /**
+     * Empties every bucket.
+     */
+    public void clear() { // O(buckets)
+        for (int i = 0; i < bucketCount; i++) {
+            bucketSizes[usedCodes[i]] = 0;
+        }
+        bucketCount = 0;
+        total = 0;
+    }
+
+    /**
+     * Adds an answer with feedback <code>code</code> to the partition.
+     *
+     * @param code pattern code
+     */
+    public void add(int code) { // O(1)
+        if (bucketSizes[code]++ == 0)
+            usedCodes[bucketCount++] = code;
+        total++;
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback the guess with id
+     * <code>guessId</code> gets from each possible answer in
+     * <code>candidates</code>.
+     *
+     * @param matrix
+     * @param guessId    row of the guess in the matrix
+     * @param candidates answer indices of the possible answers
+     * @return this
+     */
+    public PartitionStatistics partition(FeedbackMatrix matrix, int guessId, int[] candidates) { // O(m)
+        return partition(matrix, guessId, candidates, 0, candidates.length);
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback the guess with id
+     * <code>guessId</code> gets from the possible answers
+     * <code>candidates[from]</code> to <code>candidates[to - 1]</code>. Lets
+     * the candidates of several games be kept in one array.
+     *
+     * @param matrix
+     * @param guessId    row of the guess in the matrix
+     * @param candidates answer indices of the possible answers
+     * @param from       first index in <code>candidates</code>, inclusive
+     * @param to         last index in <code>candidates</code>, exclusive
+     * @return this
+     */
+    public PartitionStatistics partition(FeedbackMatrix matrix, int guessId, int[] candidates, int from,
+            int to) { // O(m)
+        clear();
+        for (int i = from; i < to; i++) {
+            add(matrix.get(guessId, candidates[i]));
+        }
+        return this;
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback the guess with id
+     * <code>guessId</code> gets from each possible answer left in
+     * <code>candidates</code>.
+     *
+     * @param matrix
+     * @param guessId    row of the guess in the matrix
+     * @param candidates
+     * @return this
+     */
+    public PartitionStatistics partition(FeedbackMatrix matrix, int guessId, WordleWordList candidates) { // O(m)
+        clear();
+        for (int a = candidates.nextPossibleAnswer(0); a >= 0; a = candidates.nextPossibleAnswer(a + 1)) {
+            add(matrix.get(guessId, a));
+        }
+        return this;
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback the guess with id
+     * <code>guessId</code> gets from each possible answer in
+     * <code>candidates</code>, scored from the packed letters of the
+     * dictionary. Used when the dictionary is too large for a feedback matrix.
+     *
+     * @param dictionary
+     * @param guessId    id of the guess in the dictionary
+     * @param candidates answer indices of the possible answers
+     * @return this
+     */
+    public PartitionStatistics partition(Dictionary dictionary, int guessId, int[] candidates) { // O(m * k)
+        return partition(dictionary, guessId, candidates, 0, candidates.length);
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback the guess with id
+     * <code>guessId</code> gets from the possible answers
+     * <code>candidates[from]</code> to <code>candidates[to - 1]</code>, scored
+     * from the packed letters of the dictionary.
+     *
+     * @param dictionary
+     * @param guessId    id of the guess in the dictionary
+     * @param candidates answer indices of the possible answers
+     * @param from       first index in <code>candidates</code>, inclusive
+     * @param to         last index in <code>candidates</code>, exclusive
+     * @return this
+     */
+    public PartitionStatistics partition(Dictionary dictionary, int guessId, int[] candidates, int from,
+            int to) { // O(m * k)
+        if (letterCounts == null || letterCounts.length != dictionary.alphabetSize())
+            letterCounts = new int[dictionary.alphabetSize()];
+        clear();
+        for (int i = from; i < to; i++) {
+            add(dictionary.match(guessId, dictionary.getAnswerId(candidates[i]), letterCounts));
+        }
+        return this;
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback the guess with id
+     * <code>guessId</code> gets from each possible answer left in
+     * <code>candidates</code>, scored from the packed letters of the
+     * dictionary.
+     *
+     * @param dictionary
+     * @param guessId    id of the guess in the dictionary
+     * @param candidates
+     * @return this
+     */
+    public PartitionStatistics partition(Dictionary dictionary, int guessId, WordleWordList candidates) { // O(m * k)
+        if (letterCounts == null || letterCounts.length != dictionary.alphabetSize())
+            letterCounts = new int[dictionary.alphabetSize()];
+        clear();
+        for (int a = candidates.nextPossibleAnswer(0); a >= 0; a = candidates.nextPossibleAnswer(a + 1)) {
+            add(dictionary.match(guessId, dictionary.getAnswerId(a), letterCounts));
+        }
+        return this;
+    }
+
+    /**
+     * Clears the partition and fills it with the feedback <code>guess</code>
+     * gets from each of the given answers. Works for words that are not in a
+     * feedback matrix.
+     *
+     * @param guess
+     * @param candidates
+     * @return this
+     */
+    public PartitionStatistics partition(String guess, List<String> candidates) { // O(m * k^2)
+        clear();
+        for (String candidate : candidates) {
+            add(FeedbackPattern.match(guess, candidate));
+        }
+        return this;
+    }
+
+    /**
+     * @param code pattern code
+     * @return the number of answers with that feedback
+     */
+    public int bucketSize(int code) { // O(1)
+        return bucketSizes[code];
+    }
+
+    /**
+     * @return the number of non-empty buckets
+     */
+    public int bucketCount() { // O(1)
+        return bucketCount;
+    }
+
+    /**
+     * @return the number of answers in the partition
+     */
+    public int total() { // O(1)
+        return total;
+    }
+
+    /**
+     * Gets the size of the largest bucket, which is the number of answers left
+     * after the guess in the worst case.
+     *
+     * @return size of the largest bucket
+     */
+    public int maxBucket() { // O(buckets)
+        int max = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            max = Math.max(max, bucketSizes[usedCodes[i]]);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the code of the largest bucket, the feedback that leaves the most
+     * answers. Of buckets with the same size the one with the lowest code is
+     * chosen, so the all correct feedback is only chosen when it is the only
+     * bucket.
+     *
+     * @return pattern code of the largest bucket, or -1 if the partition is
+     *         empty
+     */
+    public int largestBucketCode() { // O(buckets)
+        int best = -1;
+        int max = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            int code = usedCodes[i];
+            int size = bucketSizes[code];
+            if (size > max || (size == max && code < best)) {
+                best = code;
+                max = size;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the expected number of answers left after the guess when every
+     * answer is equally likely, the sum of s^2 / total over the bucket sizes s.
+     *
+     * @return expected bucket size, or 0 if the partition is empty
+     */
+    public double expectedSize() { // O(buckets)
+        if (total == 0)
+            return 0;
+        long sumOfSquares = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long size = bucketSizes[usedCodes[i]];
+            sumOfSquares += size * size;
+        }
+        return (double) sumOfSquares / total;
+    }
+
+    /**
+     * Gets the entropy of the feedback in bits when every answer is equally
+     * likely, which is the expected information the guess gives.
+     *
+     * @return entropy, or 0 if the partition is empty
+     */
+    public double entropy() { // O(buckets)
+        if (total == 0)
+            return 0;
+        double sum = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            sum += nLog2n(bucketSizes[usedCodes[i]]);
+        }
+        return Math.log(total) / LN_2 - sum / total;
+    }
+
+    private double nLog2n(int n) {
+        if (n < nLog2n.length)
+            return nLog2n[n];
+        return n * Math.log(n) / LN_2;
+    }
+}
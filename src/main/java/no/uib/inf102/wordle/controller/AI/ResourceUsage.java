@@ -0,0 +1,61 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Memory measurements of the running JVM, for the statistics of the
+ * strategies.
+ */
+public class ResourceUsage {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private ResourceUsage() {
+    }
+
+    /**
+     * Gets the number of bytes the current thread has allocated on the heap
+     * since it started. Allocations of other threads, for instance the workers
+     * of a ForkJoinPool a strategy uses, are not counted.
+     *
+     * @return allocated bytes, or -1 if the JVM can not measure it
+     */
+    public static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the most heap that has been in use since the JVM started or the
+     * last call to <code>resetHeapPeak</code>, as the sum of the peaks of the
+     * heap memory pools. The pools may peak at different times, so this is an
+     * upper bound.
+     *
+     * @return bytes
+     */
+    public static long heapPeakBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid())
+                peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    /**
+     * Starts measuring the heap peak again from the current usage.
+     */
+    public static void resetHeapPeak() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid())
+                pool.resetPeakUsage();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * The strategies that can be chosen by name, for instance from the command
+ * line. The name of a strategy is its class name without "Strategy", so
+ * <code>EntropyStrategy</code> is called "Entropy". Names are not case
+ * sensitive. "HardEntropy" is EntropyStrategy in hard mode.
+ */
+public class Strategies {
+
+    private static final Map<String, Function<Dictionary, IStrategy>> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        register("Random", RandomStrategy::new);
+        register("Eliminate", EliminateStrategy::new);
+        register("Frequency", FrequencyStrategy::new);
+        register("My", MyStrategy::new);
+        register("Entropy", EntropyStrategy::new);
+        register("HardEntropy", dictionary -> new EntropyStrategy(dictionary, ForkJoinPool.commonPool(), true));
+    }
+
+    private Strategies() {
+    }
+
+    private static void register(String name, Function<Dictionary, IStrategy> constructor) {
+        STRATEGIES.put(name.toLowerCase(), constructor);
+    }
+
+    /**
+     * Creates a new strategy with the given name.
+     *
+     * @param name
+     * @param dictionary
+     * @return a new strategy
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    public static IStrategy create(String name, Dictionary dictionary) {
+        return constructor(name).apply(dictionary);
+    }
+
+    /**
+     * Gets a factory making new strategies with the given name, for code that
+     * needs one strategy per thread or per game.
+     *
+     * @param name
+     * @param dictionary
+     * @return factory of strategies
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    public static Supplier<IStrategy> factory(String name, Dictionary dictionary) {
+        Function<Dictionary, IStrategy> constructor = constructor(name);
+        return () -> constructor.apply(dictionary);
+    }
+
+    /**
+     * @return the names of all strategies, in lower case
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(STRATEGIES.keySet());
+    }
+
+    private static Function<Dictionary, IStrategy> constructor(String name) {
+        Function<Dictionary, IStrategy> constructor = STRATEGIES.get(name.toLowerCase());
+        if (constructor == null)
+            throw new IllegalArgumentException("Unknown strategy " + name + ", expected one of " + names());
+        return constructor;
+    }
+}
@@ -32,6 +32,7 @@ public class WordleAIController extends WordleController {
         // this.AI = new RandomStrategy(dictionary);
         // this.AI = new EliminateStrategy(dictionary);
         // this.AI = new FrequencyStrategy(dictionary);
+        // this.AI = new EntropyStrategy(dictionary);
         this.AI = new MyStrategy(dictionary);
 
         view.addKeyListener(this);
@@ -0,0 +1,96 @@
+package no.uib.inf102.wordle.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics kept in memory. Counters and timers are made the first time they are
+ * reported to, and are striped so that threads seldom wait for each other.
+ */
+public class CountingMetrics implements Metrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private static class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    @Override
+    public void count(String name, long amount) { // O(1)
+        counters.computeIfAbsent(name, n -> new LongAdder()).add(amount);
+    }
+
+    @Override
+    public void time(String name, long nanos) { // O(1)
+        Timer timer = timers.computeIfAbsent(name, n -> new Timer());
+        timer.count.increment();
+        timer.totalNanos.add(nanos);
+        timer.maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @param name
+     * @return the sum of a counter, 0 if it was never counted
+     */
+    public long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @param name
+     * @return the number of durations recorded for a timer
+     */
+    public long getTimerCount(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? 0 : timer.count.sum();
+    }
+
+    /**
+     * @param name
+     * @return the sum of the durations recorded for a timer
+     */
+    public long getTotalNanos(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? 0 : timer.totalNanos.sum();
+    }
+
+    /**
+     * @param name
+     * @return the longest duration recorded for a timer
+     */
+    public long getMaxNanos(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? 0 : timer.maxNanos.get();
+    }
+
+    /**
+     * Sets every counter and timer to zero.
+     */
+    public void reset() {
+        counters.clear();
+        timers.clear();
+    }
+
+    /**
+     * @return a line per counter and timer, sorted by name
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        counters.keySet().stream().sorted().forEach(
+                name -> text.append(String.format("%-20s %,d%n", name, getCount(name))));
+        timers.keySet().stream().sorted().forEach(name -> {
+            long count = getTimerCount(name);
+            text.append(String.format("%-20s %,d calls, total %.3f ms, mean %.1f us, max %.1f us%n", name, count,
+                    getTotalNanos(name) / 1e6, count == 0 ? 0 : getTotalNanos(name) / 1e3 / count,
+                    getMaxNanos(name) / 1e3));
+        });
+        return text.toString();
+    }
+}
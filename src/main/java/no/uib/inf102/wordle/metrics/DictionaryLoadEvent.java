@@ -0,0 +1,72 @@
+package no.uib.inf102.wordle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * Flight Recorder event of reading a dictionary, or of loading or computing
+ * its feedback matrix. It also reports to the installed Metrics.
+ */
+@Name("no.uib.inf102.wordle.DictionaryLoad")
+@Label("Dictionary Load")
+@Category({ "Wordle", "Dictionary" })
+@Description("Reading a dictionary or building one of its tables")
+public class DictionaryLoadEvent extends Event {
+
+    @Label("Table")
+    @Description("What was loaded: word lists, dictionary file or feedback matrix")
+    String table;
+
+    @Label("Source")
+    @Description("File or resource read, or \"computed\"")
+    String source;
+
+    @Label("Guess Words")
+    int guessWords;
+
+    @Label("Answer Words")
+    int answerWords;
+
+    private transient Metrics metrics;
+    private transient long metricsStart;
+
+    /**
+     * Starts timing a load.
+     *
+     * @return the event, to be finished with the loaded dictionary
+     */
+    public static DictionaryLoadEvent start() {
+        DictionaryLoadEvent event = new DictionaryLoadEvent();
+        event.metrics = Metrics.current();
+        event.metricsStart = event.metrics.startTimer();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the load and commits the event if it is recorded.
+     *
+     * @param table      what was loaded
+     * @param source     where it was loaded from
+     * @param dictionary the dictionary that was loaded, or the one the table
+     *                   belongs to
+     * @return <code>dictionary</code>
+     */
+    public Dictionary finish(String table, String source, Dictionary dictionary) {
+        end();
+        metrics.stopTimer(Metrics.DICTIONARY_LOAD, metricsStart);
+        if (shouldCommit()) {
+            this.table = table;
+            this.source = source;
+            this.guessWords = dictionary.guessCount();
+            this.answerWords = dictionary.answerCount();
+            commit();
+        }
+        return dictionary;
+    }
+}
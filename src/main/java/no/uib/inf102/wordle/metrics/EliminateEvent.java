@@ -0,0 +1,96 @@
+package no.uib.inf102.wordle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * Flight Recorder event of one call to
+ * <code>WordleWordList.eliminateWords</code>. It also reports to the installed
+ * Metrics.
+ */
+@Name("no.uib.inf102.wordle.Eliminate")
+@Label("Eliminate Words")
+@Category({ "Wordle", "Solver" })
+@Description("Possible answers removed by the feedback of a guess")
+@StackTrace(false)
+public class EliminateEvent extends Event {
+
+    @Label("Guess")
+    String guess;
+
+    @Label("Pattern Code")
+    int code;
+
+    @Label("Candidates Before")
+    int candidatesBefore;
+
+    @Label("Candidates After")
+    int candidatesAfter;
+
+    private transient Metrics metrics;
+    private transient long metricsStart;
+
+    /**
+     * Starts timing an elimination.
+     *
+     * @param candidatesBefore possible answers before the elimination
+     * @return the event, to be finished when the elimination is done
+     */
+    public static EliminateEvent start(int candidatesBefore) {
+        EliminateEvent event = new EliminateEvent();
+        event.candidatesBefore = candidatesBefore;
+        event.metrics = Metrics.current();
+        event.metricsStart = event.metrics.startTimer();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the elimination and commits the event if it is recorded.
+     *
+     * @param guess
+     * @param code            pattern code of the feedback
+     * @param candidatesAfter possible answers after the elimination
+     */
+    public void finish(String guess, int code, int candidatesAfter) {
+        end();
+        record(candidatesAfter);
+        if (shouldCommit()) {
+            this.guess = guess;
+            this.code = code;
+            this.candidatesAfter = candidatesAfter;
+            commit();
+        }
+    }
+
+    /**
+     * Ends the elimination and commits the event if it is recorded. The guess
+     * word is only looked up if the event is committed.
+     *
+     * @param dictionary
+     * @param guessId         id of the guess in the dictionary
+     * @param code            pattern code of the feedback
+     * @param candidatesAfter possible answers after the elimination
+     */
+    public void finish(Dictionary dictionary, int guessId, int code, int candidatesAfter) {
+        end();
+        record(candidatesAfter);
+        if (shouldCommit()) {
+            this.guess = dictionary.getWord(guessId);
+            this.code = code;
+            this.candidatesAfter = candidatesAfter;
+            commit();
+        }
+    }
+
+    private void record(int candidatesAfter) {
+        metrics.stopTimer(Metrics.ELIMINATE, metricsStart);
+        metrics.count(Metrics.ELIMINATED_WORDS, candidatesBefore - candidatesAfter);
+    }
+}
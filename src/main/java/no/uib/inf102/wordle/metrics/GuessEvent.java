@@ -0,0 +1,79 @@
+package no.uib.inf102.wordle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of one call to <code>makeGuess</code> of a strategy,
+ * from the feedback of the last guess to the next guess. It also reports to
+ * the installed Metrics.
+ */
+@Name("no.uib.inf102.wordle.Guess")
+@Label("Make Guess")
+@Category({ "Wordle", "Solver" })
+@Description("A strategy choosing its next guess")
+@StackTrace(false)
+public class GuessEvent extends Event {
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Guess")
+    String guess;
+
+    @Label("Candidates Before")
+    @Description("Possible answers before the feedback was applied")
+    int candidatesBefore;
+
+    @Label("Candidates After")
+    @Description("Possible answers the guess was chosen for")
+    int candidatesAfter;
+
+    @Label("Words Scored")
+    long wordsScored;
+
+    private transient Metrics metrics;
+    private transient long metricsStart;
+
+    /**
+     * Starts timing a guess.
+     *
+     * @param candidatesBefore possible answers before the feedback is applied
+     * @return the event, to be finished with the guess
+     */
+    public static GuessEvent start(int candidatesBefore) {
+        GuessEvent event = new GuessEvent();
+        event.candidatesBefore = candidatesBefore;
+        event.metrics = Metrics.current();
+        event.metricsStart = event.metrics.startTimer();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the guess and commits the event if it is recorded.
+     *
+     * @param strategy        name of the strategy
+     * @param candidatesAfter possible answers after the feedback was applied
+     * @param wordsScored     words the strategy scored to choose the guess
+     * @param guess
+     * @return <code>guess</code>
+     */
+    public String finish(String strategy, int candidatesAfter, long wordsScored, String guess) {
+        end();
+        metrics.stopTimer(Metrics.GUESS, metricsStart);
+        metrics.count(Metrics.WORDS_SCORED, wordsScored);
+        if (shouldCommit()) {
+            this.strategy = strategy;
+            this.candidatesAfter = candidatesAfter;
+            this.wordsScored = wordsScored;
+            this.guess = guess;
+            commit();
+        }
+        return guess;
+    }
+}
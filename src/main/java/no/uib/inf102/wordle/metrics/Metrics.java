@@ -0,0 +1,130 @@
+package no.uib.inf102.wordle.metrics;
+
+/**
+ * Counters and timers of the solver internals. The solver reports to the
+ * metrics installed with <code>install</code>, which are <code>NONE</code>
+ * unless something else is installed. <code>NONE</code> does nothing and does
+ * not even read the clock, so while it is the only implementation in use the
+ * JIT inlines every report to nothing.
+ * <br>
+ * </br>
+ * The same phases are emitted as Java Flight Recorder events, see
+ * EliminateEvent, GuessEvent and DictionaryLoadEvent. The events are for
+ * looking at a recording in JDK Mission Control, the metrics for totals a
+ * program reads itself, for instance CountingMetrics.
+ * <br>
+ * </br>
+ * Implementations are called from many threads at once.
+ */
+public interface Metrics {
+
+    /**
+     * Timer of <code>WordleWordList.eliminateWords</code>.
+     */
+    String ELIMINATE = "eliminate";
+
+    /**
+     * Counter of possible answers removed by <code>eliminateWords</code>.
+     */
+    String ELIMINATED_WORDS = "eliminate.words";
+
+    /**
+     * Timer of <code>makeGuess</code> of the strategies.
+     */
+    String GUESS = "guess";
+
+    /**
+     * Counter of words scored by the strategies to choose their guesses.
+     */
+    String WORDS_SCORED = "guess.scored";
+
+    /**
+     * Timer of reading a dictionary and of loading or computing its feedback
+     * matrix.
+     */
+    String DICTIONARY_LOAD = "dictionary.load";
+
+    /**
+     * Metrics that ignore everything.
+     */
+    Metrics NONE = new Metrics() {
+        @Override
+        public void count(String name, long amount) {
+        }
+
+        @Override
+        public void time(String name, long nanos) {
+        }
+
+        @Override
+        public long startTimer() {
+            return 0;
+        }
+
+        @Override
+        public void stopTimer(String name, long start) {
+        }
+    };
+
+    /**
+     * Adds <code>amount</code> to a counter.
+     *
+     * @param name
+     * @param amount
+     */
+    void count(String name, long amount);
+
+    /**
+     * Records a duration of a timer.
+     *
+     * @param name
+     * @param nanos
+     */
+    void time(String name, long nanos);
+
+    /**
+     * @return the start of a duration, to be given to <code>stopTimer</code>
+     */
+    default long startTimer() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since <code>start</code> for a timer.
+     *
+     * @param name
+     * @param start value of <code>startTimer</code>
+     */
+    default void stopTimer(String name, long start) {
+        time(name, System.nanoTime() - start);
+    }
+
+    /**
+     * @return the metrics the solver reports to
+     */
+    static Metrics current() {
+        return Installed.metrics;
+    }
+
+    /**
+     * Makes the solver report to <code>metrics</code>.
+     *
+     * @param metrics the metrics, or <code>NONE</code> to stop reporting
+     */
+    static void install(Metrics metrics) {
+        if (metrics == null)
+            throw new IllegalArgumentException("Use Metrics.NONE to stop reporting");
+        Installed.metrics = metrics;
+    }
+
+    /**
+     * Holds the installed metrics, since an interface can not have fields that
+     * change.
+     */
+    class Installed {
+        private static volatile Metrics metrics = NONE;
+
+        private Installed() {
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package no.uib.inf102.wordle.model;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
 
+import no.uib.inf102.wordle.metrics.DictionaryLoadEvent;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
 import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
 
 /**
@@ -12,32 +21,410 @@ import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
  * Wordle. This class is implemented to allow for any word length and any
  * language.
  * The default constructor loads the word lists for 5 letter words in english.
+ * <br>
+ * </br>
+ * Every word has an integer id. The words of the guess word list have the ids
+ * 0 to <code>guessCount() - 1</code> in list order, and answer words that are
+ * not in the guess word list get the ids after those. The letters of all words
+ * are stored in one byte array, <code>WORD_LENGTH</code> bytes per id, as
+ * indices into the alphabet of the dictionary.
+ * <br>
+ * </br>
+ * A dictionary can also be loaded from the binary format of DictionaryFile,
+ * which skips reading and hashing the word lists. The words are then only
+ * turned into Strings when they are asked for.
  */
 public class Dictionary {
 
-    private List<String> guessWordsList;
-    private List<String> answerWordsList;
+    /**
+     * Both lists are unmodifiable, either copies of the lists given to the
+     * constructor or views of the packed letters.
+     */
+    private final List<String> guessWordsList;
+    private final List<String> answerWordsList;
+
+    /**
+     * The word with each id. For a dictionary loaded from a DictionaryFile the
+     * Strings are made the first time they are asked for.
+     */
+    private final String[] words;
+
+    private final int guessCount;
+
+    /**
+     * The letters of the word with id <code>i</code> are stored at
+     * <code>letters[i * WORD_LENGTH]</code> to
+     * <code>letters[(i + 1) * WORD_LENGTH - 1]</code>.
+     */
+    private final byte[] letters;
+
+    /**
+     * All letters used in the dictionary, sorted. A letter is stored as its index
+     * in this array.
+     */
+    private final char[] alphabet;
+
+    /**
+     * Open addressing hash table from the letters of a word to its id + 1, 0
+     * marks an empty slot. The length is a power of two.
+     */
+    private final int[] wordTable;
 
-    private Set<String> guessWordsSet;
-    private Set<String> answerWordsSet;
+    /**
+     * <code>answerIds[a]</code> is the id of answer word <code>a</code>, and
+     * <code>answerIndices[id]</code> is the index of the word in the answer word
+     * list, or -1 if it is not an answer.
+     */
+    private final int[] answerIds;
+    private final int[] answerIndices;
 
     public final int WORD_LENGTH;
 
+    /**
+     * Checksum of the word lists, used to tell cached tables of different
+     * dictionaries apart.
+     */
+    private final long checksum;
+
+    /**
+     * Folder where tables derived from this dictionary are cached between runs,
+     * or null if they are only kept in memory.
+     */
+    private final Path cacheFolder;
+
+    private volatile FeedbackMatrix feedbackMatrix;
+
+    /**
+     * Creates a dictionary of 5 letter english words sharing the tables of
+     * <code>getDefault()</code>. The feedback matrix is not shared, so use
+     * <code>getDefault()</code> instead where possible.
+     */
     public Dictionary() {
-        this(LoadFromFile5LetterEnglish.GUESS_WORDS_LIST, LoadFromFile5LetterEnglish.ANSWER_WORDS_LIST);
+        this(getDefault());
+    }
+
+    /**
+     * Returns the dictionary of 5 letter english words, shared by everyone who
+     * uses it. It is loaded the first time this method is called. In the source
+     * tree it is loaded from a binary DictionaryFile in the cache folder of
+     * LoadFromFile5LetterEnglish, which is made from the word lists the first
+     * time and whenever they change.
+     * Otherwise, for instance when running from a packaged jar, the word lists
+     * are read from the classpath.
+     * <br>
+     * </br>
+     * A dictionary is never changed after it is made, and its feedback matrix is
+     * computed at most once, so any number of threads can use the same
+     * dictionary.
+     *
+     * @return the default dictionary
+     */
+    public static Dictionary getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Holds the default dictionary, so that it is loaded when the class is first
+     * used, which the JVM does once and thread safely.
+     */
+    private static class DefaultHolder {
+        static final Dictionary DEFAULT = loadDefault();
+    }
+
+    private static Dictionary loadDefault() {
+        Path guessFile = Path.of(LoadFromFile5LetterEnglish.GUESS_WORDS_PATH);
+        Path answerFile = Path.of(LoadFromFile5LetterEnglish.ANSWER_WORDS_PATH);
+        if (Files.isRegularFile(guessFile) && Files.isRegularFile(answerFile))
+            return DictionaryFile.loadOrConvert(guessFile, answerFile,
+                    Path.of(LoadFromFile5LetterEnglish.DICTIONARY_PATH), LoadFromFile5LetterEnglish.CACHE_FOLDER);
+        try {
+            return WordListReader.readResources(LoadFromFile5LetterEnglish.GUESS_WORDS_RESOURCE,
+                    LoadFromFile5LetterEnglish.ANSWER_WORDS_RESOURCE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes a dictionary sharing the tables of <code>other</code>, which are
+     * never changed.
+     */
+    private Dictionary(Dictionary other) {
+        this.guessWordsList = other.guessWordsList;
+        this.answerWordsList = other.answerWordsList;
+        this.words = other.words;
+        this.guessCount = other.guessCount;
+        this.letters = other.letters;
+        this.alphabet = other.alphabet;
+        this.wordTable = other.wordTable;
+        this.answerIds = other.answerIds;
+        this.answerIndices = other.answerIndices;
+        this.WORD_LENGTH = other.WORD_LENGTH;
+        this.checksum = other.checksum;
+        this.cacheFolder = other.cacheFolder;
+    }
+
+    /**
+     * Makes a dictionary from tables read by DictionaryFile.
+     */
+    Dictionary(int wordLength, char[] alphabet, byte[] letters, int guessCount, int[] answerIds, int[] wordTable,
+            long checksum, Path cacheFolder) {
+        this.WORD_LENGTH = wordLength;
+        this.alphabet = alphabet;
+        this.letters = letters;
+        this.guessCount = guessCount;
+        this.answerIds = answerIds;
+        this.wordTable = wordTable;
+        this.checksum = checksum;
+        this.cacheFolder = cacheFolder;
+
+        int wordCount = letters.length / wordLength;
+        this.words = new String[wordCount];
+        this.answerIndices = new int[wordCount];
+        Arrays.fill(answerIndices, -1);
+        for (int a = answerIds.length - 1; a >= 0; a--) {
+            answerIndices[answerIds[a]] = a;
+        }
+        this.guessWordsList = new WordListView(null, guessCount);
+        this.answerWordsList = new WordListView(answerIds, answerIds.length);
+    }
+
+    /**
+     * Makes a dictionary from words already packed as letter indices, used by
+     * WordListReader. The first <code>guessWordCount</code> words of
+     * <code>packed</code> are the guess words and the rest are the answer
+     * words. Words that are repeated in a list are only kept the first time.
+     * 
+     * @param wordLength
+     * @param alphabet       sorted letters
+     * @param packed         letter indices of the words, <code>wordLength</code>
+     *                       per word. It is reused for the letters of the
+     *                       dictionary.
+     * @param guessWordCount number of guess words in <code>packed</code>
+     * @param wordCount      number of words in <code>packed</code>
+     * @param cacheFolder
+     */
+    Dictionary(int wordLength, char[] alphabet, byte[] packed, int guessWordCount, int wordCount, Path cacheFolder) {
+        if (alphabet.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary can not use more than " + Byte.MAX_VALUE + " letters");
+        this.WORD_LENGTH = wordLength;
+        this.alphabet = alphabet;
+        this.letters = packed;
+        this.cacheFolder = cacheFolder;
+        this.wordTable = new int[tableSize(wordCount)];
+
+        // The words are moved down over the repeated ones, so the id of a word
+        // is never larger than its position in packed.
+        int ids = 0;
+        for (int w = 0; w < guessWordCount; w++) { // O(n * k)
+            if (findId(packed, w * wordLength) < 0)
+                addPacked(w, ids++);
+        }
+        this.guessCount = ids;
+
+        int[] answerIds = new int[wordCount - guessWordCount];
+        int[] answerIndices = new int[wordCount];
+        Arrays.fill(answerIndices, -1);
+        int answers = 0;
+        for (int w = guessWordCount; w < wordCount; w++) { // O(a * k)
+            int id = findId(packed, w * wordLength);
+            if (id < 0) {
+                id = ids++;
+                addPacked(w, id);
+            } else if (answerIndices[id] >= 0) {
+                continue; // repeated answer
+            }
+            answerIndices[id] = answers;
+            answerIds[answers++] = id;
+        }
+        this.answerIds = Arrays.copyOf(answerIds, answers);
+        this.answerIndices = Arrays.copyOf(answerIndices, ids);
+        this.words = new String[ids];
+
+        this.guessWordsList = new WordListView(null, guessCount);
+        this.answerWordsList = new WordListView(this.answerIds, answers);
+        this.checksum = computeChecksum();
+    }
+
+    /**
+     * Moves the packed word at position <code>w</code> to the given id and adds
+     * it to the word table.
+     */
+    private void addPacked(int w, int id) {
+        System.arraycopy(letters, w * WORD_LENGTH, letters, id * WORD_LENGTH, WORD_LENGTH);
+        int mask = wordTable.length - 1;
+        int slot = hash(letters, id * WORD_LENGTH) & mask;
+        while (wordTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        wordTable[slot] = id + 1;
+    }
+
+    /**
+     * Finds the id of the word whose letters are at <code>offset</code> in
+     * <code>packed</code>.
+     */
+    private int findId(byte[] packed, int offset) { // O(k)
+        int mask = wordTable.length - 1;
+        for (int slot = hash(packed, offset) & mask; wordTable[slot] != 0; slot = (slot + 1) & mask) {
+            int id = wordTable[slot] - 1;
+            if (Arrays.equals(letters, id * WORD_LENGTH, (id + 1) * WORD_LENGTH, packed, offset, offset + WORD_LENGTH))
+                return id;
+        }
+        return -1;
+    }
+
+    /**
+     * Loads a dictionary written by DictionaryFile. Tables derived from it are
+     * cached in the folder of the file.
+     * 
+     * @param file
+     * @return the dictionary
+     * @throws IOException if the file can not be read or is not a valid
+     *                     dictionary file
+     */
+    public static Dictionary load(Path file) throws IOException {
+        return DictionaryFile.read(file, file.toAbsolutePath().getParent());
     }
 
     public Dictionary(List<String> guessWords, List<String> answerWords) {
-        this.guessWordsList = guessWords;
-        this.answerWordsList = answerWords;
+        this(guessWords, answerWords, null);
+    }
 
-        this.guessWordsSet = new HashSet<String>(guessWords);
-        this.answerWordsSet = new HashSet<String>(answerWords);
+    /**
+     * Creates a dictionary which caches derived tables, like the feedback
+     * matrix, in the given folder.
+     * 
+     * @param guessWords
+     * @param answerWords
+     * @param cacheFolder folder for cache files, or null to not cache on disk
+     */
+    public Dictionary(List<String> guessWords, List<String> answerWords, Path cacheFolder) {
+        this.cacheFolder = cacheFolder;
+        this.guessWordsList = List.copyOf(guessWords);
+        this.answerWordsList = List.copyOf(answerWords);
+        this.guessCount = guessWords.size();
 
         // Assumes that all words in list are the same size
         this.WORD_LENGTH = guessWordsList.get(0).length();
         checkWordLength(guessWordsList);
         checkWordLength(answerWordsList);
+
+        this.alphabet = findAlphabet(guessWords, answerWords);
+        if (alphabet.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary can not use more than " + Byte.MAX_VALUE + " letters");
+
+        int maxWords = guessWords.size() + answerWords.size();
+        String[] words = new String[maxWords];
+        this.letters = new byte[maxWords * WORD_LENGTH];
+        this.wordTable = new int[tableSize(maxWords)];
+        int wordCount = 0;
+        for (String word : guessWords) { // O(n * k)
+            words[wordCount] = word;
+            addWord(word, wordCount++);
+        }
+
+        this.answerIds = new int[answerWords.size()];
+        for (int a = 0; a < answerWords.size(); a++) { // O(a * k)
+            String word = answerWords.get(a);
+            int id = getId(word);
+            if (id < 0) {
+                id = wordCount++;
+                words[id] = word;
+                addWord(word, id);
+            }
+            answerIds[a] = id;
+        }
+        this.words = Arrays.copyOf(words, wordCount);
+
+        this.answerIndices = new int[wordCount];
+        Arrays.fill(answerIndices, -1);
+        for (int a = answerIds.length - 1; a >= 0; a--) {
+            answerIndices[answerIds[a]] = a;
+        }
+
+        this.checksum = computeChecksum();
+    }
+
+    private static char[] findAlphabet(List<String> guessWords, List<String> answerWords) {
+        TreeSet<Character> letters = new TreeSet<>();
+        for (List<String> words : List.of(guessWords, answerWords)) {
+            for (String word : words) {
+                for (int i = 0; i < word.length(); i++) {
+                    letters.add(word.charAt(i));
+                }
+            }
+        }
+        char[] alphabet = new char[letters.size()];
+        int i = 0;
+        for (char c : letters) {
+            alphabet[i++] = c;
+        }
+        return alphabet;
+    }
+
+    private static int tableSize(int wordCount) {
+        int size = 16;
+        while (size < 2 * wordCount) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    /**
+     * Stores the letters of <code>word</code> for the given id, and adds the id
+     * to the word table unless the word is already there.
+     */
+    private void addWord(String word, int id) {
+        int offset = id * WORD_LENGTH;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[offset + i] = (byte) letterIndex(word.charAt(i));
+        }
+        int mask = wordTable.length - 1;
+        for (int slot = hash(letters, offset) & mask;; slot = (slot + 1) & mask) {
+            if (wordTable[slot] == 0) {
+                wordTable[slot] = id + 1;
+                return;
+            }
+            if (sameLetters(wordTable[slot] - 1, word))
+                return;
+        }
+    }
+
+    private int hash(byte[] letters, int offset) {
+        int h = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            h = 31 * h + letters[offset + i];
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean sameLetters(int id, String word) {
+        int offset = id * WORD_LENGTH;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if (alphabet[letters[offset + i]] != word.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private long computeChecksum() {
+        CRC32 crc = new CRC32();
+        for (String word : guessWordsList) {
+            crc.update(word.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        crc.update(0);
+        for (String word : answerWordsList) {
+            crc.update(word.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
     }
 
     private void checkWordLength(List<String> words) {
@@ -48,11 +435,154 @@ public class Dictionary {
     }
 
     public List<String> getGuessWordsList() {
-        return Collections.unmodifiableList(guessWordsList);
+        return guessWordsList;
     }
 
     public List<String> getAnswerWordsList() {
-        return Collections.unmodifiableList(answerWordsList);
+        return answerWordsList;
+    }
+
+    /**
+     * Gets the id of <code>word</code>.
+     * 
+     * @param word
+     * @return id of the word, or -1 if it is not in the dictionary
+     */
+    public int getId(String word) { // O(k)
+        if (word.length() != WORD_LENGTH)
+            return -1;
+        int h = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0)
+                return -1;
+            h = 31 * h + letter;
+        }
+        int mask = wordTable.length - 1;
+        for (int slot = spread(h) & mask; wordTable[slot] != 0; slot = (slot + 1) & mask) {
+            int id = wordTable[slot] - 1;
+            if (sameLetters(id, word))
+                return id;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the word with the given id.
+     * 
+     * @param id
+     * @return the word
+     */
+    public String getWord(int id) { // O(1), O(k) the first time for a loaded dictionary
+        String word = words[id];
+        if (word == null) {
+            // Two threads may both make the String, which is harmless
+            char[] chars = new char[WORD_LENGTH];
+            for (int i = 0; i < WORD_LENGTH; i++) {
+                chars[i] = alphabet[letters[id * WORD_LENGTH + i]];
+            }
+            word = new String(chars);
+            words[id] = word;
+        }
+        return word;
+    }
+
+    /**
+     * @return the number of ids, that is the number of different words
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * @return the number of words in the guess word list
+     */
+    public int guessCount() {
+        return guessCount;
+    }
+
+    /**
+     * @return the number of words in the answer word list
+     */
+    public int answerCount() {
+        return answerIds.length;
+    }
+
+    /**
+     * Gets the id of the answer word with index <code>answerIndex</code> in the
+     * answer word list.
+     * 
+     * @param answerIndex
+     * @return id of the answer word
+     */
+    public int getAnswerId(int answerIndex) { // O(1)
+        return answerIds[answerIndex];
+    }
+
+    /**
+     * Gets the index in the answer word list of the word with the given id.
+     * 
+     * @param id
+     * @return index in the answer word list, or -1 if the word is not an answer
+     */
+    public int getAnswerIndex(int id) { // O(1)
+        return answerIndices[id];
+    }
+
+    /**
+     * Gets the number of letters in the alphabet of this dictionary. Letter
+     * indices go from 0 up to this number.
+     * 
+     * @return alphabet size
+     */
+    public int alphabetSize() {
+        return alphabet.length;
+    }
+
+    /**
+     * Gets the letter at the given position of the word with the given id.
+     * 
+     * @param id
+     * @param position
+     * @return the letter as an index into the alphabet
+     */
+    public int getLetter(int id, int position) { // O(1)
+        return letters[id * WORD_LENGTH + position];
+    }
+
+    /**
+     * Gets the index of <code>letter</code> in the alphabet of this dictionary.
+     * 
+     * @param letter
+     * @return letter index, or -1 if no word uses the letter
+     */
+    public int letterIndex(char letter) { // O(log alphabet)
+        int index = Arrays.binarySearch(alphabet, letter);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Gets the letter with the given letter index.
+     * 
+     * @param index
+     * @return the letter
+     */
+    public char letter(int index) {
+        return alphabet[index];
+    }
+
+    /**
+     * Scores the word with id <code>guessId</code> against the word with id
+     * <code>answerId</code> using the packed letters.
+     * 
+     * @param guessId
+     * @param answerId
+     * @param counts   scratch array of length <code>alphabetSize()</code>, all
+     *                 zero
+     * @return pattern code of the feedback
+     */
+    public int match(int guessId, int answerId, int[] counts) { // O(k)
+        return FeedbackPattern.match(letters, guessId * WORD_LENGTH, answerId * WORD_LENGTH, WORD_LENGTH, counts);
     }
 
     /**
@@ -62,7 +592,7 @@ public class Dictionary {
      * @return
      */
     public boolean isLegalGuess(String wordGuess) {
-        return guessWordsSet.contains(wordGuess.toLowerCase());
+        return isLegalGuess(getId(wordGuess.toLowerCase()));
     }
 
     /**
@@ -72,7 +602,173 @@ public class Dictionary {
      * @return
      */
     public boolean isLegalAnswer(String wordGuess) {
-        return answerWordsSet.contains(wordGuess.toLowerCase());
+        return isLegalAnswer(getId(wordGuess.toLowerCase()));
+    }
+
+    /**
+     * Checks if the word with the given id is in the guess word list.
+     * 
+     * @param id
+     * @return true if the word can be guessed
+     */
+    public boolean isLegalGuess(int id) { // O(1)
+        return id >= 0 && id < guessCount;
     }
 
+    /**
+     * Checks if the word with the given id is in the answer word list.
+     * 
+     * @param id
+     * @return true if the word can be the answer
+     */
+    public boolean isLegalAnswer(int id) { // O(1)
+        return id >= 0 && id < answerIndices.length && answerIndices[id] >= 0;
+    }
+
+    /**
+     * Gets the index of <code>word</code> in the guess word list, which is the
+     * same as its id.
+     * 
+     * @param word
+     * @return index of the word, or -1 if it is not a legal guess
+     */
+    public int getGuessIndex(String word) {
+        int id = getId(word);
+        return isLegalGuess(id) ? id : -1;
+    }
+
+    /**
+     * Gets the index of <code>word</code> in the answer word list.
+     * 
+     * @param word
+     * @return index of the word, or -1 if it is not a legal answer
+     */
+    public int getAnswerIndex(String word) {
+        int id = getId(word);
+        return id < 0 ? -1 : answerIndices[id];
+    }
+
+    /**
+     * Gets a checksum of the guess and answer word lists. Two dictionaries with
+     * the same words in the same order have the same checksum.
+     * 
+     * @return checksum
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Gets the feedback matrix of this dictionary. The matrix is computed (or
+     * loaded from the cache folder) the first time it is needed and then shared
+     * by everyone using this dictionary.
+     * 
+     * @return feedback matrix
+     */
+    public FeedbackMatrix getFeedbackMatrix() {
+        FeedbackMatrix matrix = feedbackMatrix;
+        if (matrix == null) {
+            synchronized (this) {
+                matrix = feedbackMatrix;
+                if (matrix == null) {
+                    DictionaryLoadEvent event = DictionaryLoadEvent.start();
+                    Path cacheFile = getCacheFile("feedback", ".matrix");
+                    if (cacheFile == null)
+                        matrix = FeedbackMatrix.compute(this);
+                    else
+                        matrix = FeedbackMatrix.load(this, cacheFile);
+                    feedbackMatrix = matrix;
+                    event.finish("feedback matrix", cacheFile == null ? "computed" : cacheFile.toString(), this);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Gets the memory used by the derived tables of this dictionary that are
+     * built so far, which is the feedback matrix.
+     *
+     * @return size in bytes, 0 if no table is built
+     */
+    public long indexBytes() {
+        FeedbackMatrix matrix = feedbackMatrix;
+        return matrix == null ? 0 : matrix.sizeInBytes();
+    }
+
+    /**
+     * Forgets the derived tables, so that their memory can be reclaimed when
+     * nobody else holds on to them. They are built again, or loaded from the
+     * cache folder, the next time they are needed.
+     */
+    synchronized void releaseIndices() {
+        feedbackMatrix = null;
+    }
+
+    /**
+     * Gets the file in the cache folder where a table derived from this
+     * dictionary is stored. The name contains the word length and the checksum,
+     * so different dictionaries never share a cache file.
+     * 
+     * @param prefix what kind of table, for instance "feedback"
+     * @param suffix file extension, for instance ".matrix"
+     * @return the cache file, or null if this dictionary has no cache folder
+     */
+    public Path getCacheFile(String prefix, String suffix) {
+        if (cacheFolder == null)
+            return null;
+        return cacheFolder.resolve(prefix + "-" + WORD_LENGTH + "-" + Long.toHexString(checksum) + suffix);
+    }
+
+    /**
+     * @return the sorted letters of the alphabet, not to be changed
+     */
+    char[] alphabet() {
+        return alphabet;
+    }
+
+    /**
+     * @return the packed letters of all words, not to be changed
+     */
+    byte[] letters() {
+        return letters;
+    }
+
+    /**
+     * @return the word hash table, not to be changed
+     */
+    int[] wordTable() {
+        return wordTable;
+    }
+
+    /**
+     * A word list of a loaded dictionary, which makes the Strings when they are
+     * asked for.
+     */
+    private class WordListView extends AbstractList<String> implements RandomAccess {
+
+        /**
+         * Id of each word in the list, or null if word <code>i</code> has id
+         * <code>i</code>.
+         */
+        private final int[] ids;
+        private final int size;
+
+        WordListView(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            return getWord(ids == null ? index : ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
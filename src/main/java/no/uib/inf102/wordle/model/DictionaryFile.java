@@ -0,0 +1,195 @@
+package no.uib.inf102.wordle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import no.uib.inf102.wordle.metrics.DictionaryLoadEvent;
+import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
+
+/**
+ * A binary file holding the tables of a Dictionary, so that loading a
+ * dictionary is a few bulk copies from a memory-mapped file instead of reading
+ * and hashing the word lists.
+ * <br>
+ * </br>
+ * The file has a header with the word length, the sizes of the tables and the
+ * checksum of the word lists (the same as <code>Dictionary::getChecksum</code>,
+ * so cached feedback matrices work for both). Then come the alphabet, the
+ * packed letters of every word id, the id of every answer word in answer list
+ * order, the word hash table, and at the end a CRC32 of everything before it.
+ * <br>
+ * </br>
+ * Running the main method converts the text word lists given as arguments
+ * (default the 5 letter english lists) into a dictionary file.
+ */
+public class DictionaryFile {
+
+    private static final int MAGIC = 0x57444943; // "WDIC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8 * 4 + 8;
+
+    public static void main(String[] args) throws IOException {
+        Path guessFile = Path.of(args.length > 0 ? args[0] : LoadFromFile5LetterEnglish.GUESS_WORDS_PATH);
+        Path answerFile = Path.of(args.length > 1 ? args[1] : LoadFromFile5LetterEnglish.ANSWER_WORDS_PATH);
+        Path file = Path.of(args.length > 2 ? args[2] : LoadFromFile5LetterEnglish.DICTIONARY_PATH);
+
+        Dictionary dictionary = WordListReader.read(guessFile, answerFile, null);
+        write(dictionary, file);
+        System.out.printf("Wrote %d words (%d answers) to %s%n", dictionary.wordCount(), dictionary.answerCount(),
+                file);
+    }
+
+    /**
+     * Writes the tables of <code>dictionary</code> to <code>file</code>. The
+     * dictionary is written to a temporary file first so that a crash never
+     * leaves a half written file.
+     *
+     * @param dictionary
+     * @param file
+     * @throws IOException
+     */
+    public static void write(Dictionary dictionary, Path file) throws IOException { // O(n * k)
+        char[] alphabet = dictionary.alphabet();
+        byte[] letters = dictionary.letters();
+        int[] wordTable = dictionary.wordTable();
+        int answerCount = dictionary.answerCount();
+        // The letters array may have room for more words than there are ids
+        int letterCount = dictionary.wordCount() * dictionary.WORD_LENGTH;
+
+        long size = HEADER_SIZE + 2L * alphabet.length + letterCount + 4L * answerCount + 4L * wordTable.length
+                + 8;
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(dictionary.WORD_LENGTH).putInt(alphabet.length);
+        buffer.putInt(dictionary.wordCount()).putInt(dictionary.guessCount()).putInt(answerCount);
+        buffer.putInt(wordTable.length).putLong(dictionary.getChecksum());
+        buffer.asCharBuffer().put(alphabet);
+        buffer.position(buffer.position() + 2 * alphabet.length);
+        buffer.put(letters, 0, letterCount);
+        for (int a = 0; a < answerCount; a++) {
+            buffer.putInt(dictionary.getAnswerId(a));
+        }
+        buffer.asIntBuffer().put(wordTable);
+        buffer.position(buffer.position() + 4 * wordTable.length);
+        buffer.putLong(checksum(buffer.duplicate().flip()));
+        buffer.flip();
+
+        Path folder = file.toAbsolutePath().getParent();
+        Files.createDirectories(folder);
+        Path tmp = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a dictionary from a file written by <code>write</code>.
+     *
+     * @param file
+     * @param cacheFolder folder where the dictionary caches derived tables, or
+     *                    null
+     * @return the dictionary
+     * @throws IOException if the file can not be read or is not a valid
+     *                     dictionary file
+     */
+    public static Dictionary read(Path file, Path cacheFolder) throws IOException { // O(n * k) bulk copies
+        DictionaryLoadEvent event = DictionaryLoadEvent.start();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE + 8 || channel.size() > Integer.MAX_VALUE)
+                throw new IOException(file + " is not a dictionary file");
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                throw new IOException(file + " is not a dictionary file");
+            int wordLength = buffer.getInt();
+            int alphabetSize = buffer.getInt();
+            int wordCount = buffer.getInt();
+            int guessCount = buffer.getInt();
+            int answerCount = buffer.getInt();
+            int tableSize = buffer.getInt();
+            long dictionaryChecksum = buffer.getLong();
+
+            long expectedSize = HEADER_SIZE + 2L * alphabetSize + (long) wordCount * wordLength + 4L * answerCount
+                    + 4L * tableSize + 8;
+            if (wordLength <= 0 || alphabetSize <= 0 || alphabetSize > Byte.MAX_VALUE || guessCount <= 0
+                    || guessCount > wordCount || answerCount <= 0 || Integer.bitCount(tableSize) != 1
+                    || expectedSize != channel.size())
+                throw new IOException(file + " is corrupt");
+            long dataChecksum = buffer.getLong((int) expectedSize - 8);
+            if (checksum(buffer.duplicate().position(0).limit((int) expectedSize - 8)) != dataChecksum)
+                throw new IOException(file + " is corrupt");
+
+            char[] alphabet = new char[alphabetSize];
+            buffer.asCharBuffer().get(alphabet);
+            buffer.position(buffer.position() + 2 * alphabetSize);
+            byte[] letters = new byte[wordCount * wordLength];
+            buffer.get(letters);
+            int[] answerIds = new int[answerCount];
+            buffer.asIntBuffer().get(answerIds);
+            buffer.position(buffer.position() + 4 * answerCount);
+            int[] wordTable = new int[tableSize];
+            buffer.asIntBuffer().get(wordTable);
+
+            for (int id : answerIds) {
+                if (id < 0 || id >= wordCount)
+                    throw new IOException(file + " is corrupt");
+            }
+            return event.finish("dictionary file", file.toString(), new Dictionary(wordLength, alphabet, letters,
+                    guessCount, answerIds, wordTable, dictionaryChecksum, cacheFolder));
+        }
+    }
+
+    /**
+     * Loads the dictionary in <code>file</code> if it is newer than both word
+     * lists. Otherwise the dictionary is made from the word lists and written
+     * to <code>file</code> for the next time.
+     *
+     * @param guessFile   text file with one guess word per line
+     * @param answerFile  text file with one answer word per line
+     * @param file        the dictionary file
+     * @param cacheFolder folder where the dictionary caches derived tables, or
+     *                    null
+     * @return the dictionary
+     * @throws UncheckedIOException if the word lists can not be read
+     */
+    public static Dictionary loadOrConvert(Path guessFile, Path answerFile, Path file, Path cacheFolder) {
+        try {
+            if (Files.isRegularFile(file)
+                    && Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(guessFile)) >= 0
+                    && Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(answerFile)) >= 0)
+                return read(file, cacheFolder);
+        } catch (IOException e) {
+            System.err.println("Could not read dictionary file " + file + ": " + e.getMessage());
+        }
+
+        Dictionary dictionary;
+        try {
+            dictionary = WordListReader.read(guessFile, answerFile, cacheFolder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            write(dictionary, file);
+        } catch (IOException e) {
+            System.err.println("Could not write dictionary file " + file + ": " + e.getMessage());
+        }
+        return dictionary;
+    }
+
+    private static long checksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,225 @@
+package no.uib.inf102.wordle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
+
+/**
+ * Dictionaries of several languages and word lengths, each loaded the first
+ * time it is asked for and then shared by every game and strategy using it.
+ * A dictionary is registered by language and word length with a way to load
+ * it, for instance two word list files or classpath resources. Any alphabet
+ * that Dictionary supports works, for instance norwegian with æ, ø and å.
+ * <br>
+ * </br>
+ * The derived tables of a dictionary, like its feedback matrix, are built once
+ * and shared as well. They can be large, so the registry has a memory budget
+ * for them. When the tables of all dictionaries use more than the budget, the
+ * tables of the least recently used dictionaries are released until they fit.
+ * A released table is built again, or loaded from its cache file, the next
+ * time it is needed. The budget is checked every time a dictionary is asked
+ * for, so it can be exceeded until the next call to <code>get</code>.
+ */
+public class DictionaryRegistry {
+
+    /**
+     * Memory budget of the default registry.
+     */
+    public static final long DEFAULT_INDEX_BUDGET = 512L << 20;
+
+    private final long indexBudget;
+
+    /**
+     * The registered dictionaries, from least to most recently used.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param indexBudget the most bytes the derived tables of all dictionaries
+     *                    should use
+     */
+    public DictionaryRegistry(long indexBudget) {
+        if (indexBudget < 0)
+            throw new IllegalArgumentException("Budget can not be negative: " + indexBudget);
+        this.indexBudget = indexBudget;
+    }
+
+    /**
+     * Gets the registry shared by everyone, which has the 5 letter english
+     * dictionary registered as "english".
+     *
+     * @return the default registry
+     */
+    public static DictionaryRegistry getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    private static class DefaultHolder {
+        static final DictionaryRegistry DEFAULT = new DictionaryRegistry(DEFAULT_INDEX_BUDGET);
+
+        static {
+            DEFAULT.register("english", LoadFromFile5LetterEnglish.WORD_LENGTH, Dictionary::getDefault);
+        }
+    }
+
+    /**
+     * Registers a dictionary that is made by <code>loader</code> the first time
+     * it is asked for.
+     *
+     * @param language
+     * @param wordLength
+     * @param loader
+     * @throws IllegalArgumentException if a dictionary with that language and
+     *                                  word length is already registered
+     */
+    public synchronized void register(String language, int wordLength, Supplier<Dictionary> loader) {
+        String key = key(language, wordLength);
+        if (entries.containsKey(key))
+            throw new IllegalArgumentException(key + " is already registered");
+        entries.put(key, new Entry(key, wordLength, loader));
+    }
+
+    /**
+     * Registers a dictionary read from two word list files.
+     *
+     * @param language
+     * @param wordLength
+     * @param guessFile   file with one guess word per line
+     * @param answerFile  file with one answer word per line
+     * @param cacheFolder folder where the dictionary caches derived tables, or
+     *                    null
+     */
+    public void registerWordLists(String language, int wordLength, Path guessFile, Path answerFile,
+            Path cacheFolder) {
+        register(language, wordLength, () -> {
+            try {
+                return WordListReader.read(guessFile, answerFile, cacheFolder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Registers a dictionary read from two word lists on the classpath.
+     *
+     * @param language
+     * @param wordLength
+     * @param guessResource  absolute resource name of the guess word list
+     * @param answerResource absolute resource name of the answer word list
+     */
+    public void registerResources(String language, int wordLength, String guessResource, String answerResource) {
+        register(language, wordLength, () -> {
+            try {
+                return WordListReader.readResources(guessResource, answerResource);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Gets the dictionary of the given language and word length, loading it if
+     * this is the first time. Then releases the derived tables of the least
+     * recently used dictionaries if the tables use more than the budget.
+     *
+     * @param language
+     * @param wordLength
+     * @return the shared dictionary
+     * @throws IllegalArgumentException if no such dictionary is registered
+     * @throws UncheckedIOException     if the dictionary could not be read
+     */
+    public Dictionary get(String language, int wordLength) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key(language, wordLength));
+            if (entry == null)
+                throw new IllegalArgumentException("No dictionary for " + key(language, wordLength)
+                        + ", expected one of " + entries.keySet());
+        }
+        Dictionary dictionary = entry.dictionary(); // loads outside the registry lock
+        trim(entry);
+        return dictionary;
+    }
+
+    /**
+     * Releases the tables of the least recently used dictionaries, other than
+     * <code>keep</code>, until all tables fit in the budget.
+     */
+    private synchronized void trim(Entry keep) { // O(dictionaries)
+        long total = indexBytes();
+        Iterator<Entry> leastRecent = entries.values().iterator();
+        while (total > indexBudget && leastRecent.hasNext()) {
+            Entry entry = leastRecent.next();
+            Dictionary dictionary = entry.loaded;
+            if (entry == keep || dictionary == null)
+                continue;
+            total -= dictionary.indexBytes();
+            dictionary.releaseIndices();
+        }
+    }
+
+    /**
+     * @return the bytes used by the derived tables of all loaded dictionaries
+     */
+    public synchronized long indexBytes() {
+        long total = 0;
+        for (Entry entry : entries.values()) {
+            Dictionary dictionary = entry.loaded;
+            if (dictionary != null)
+                total += dictionary.indexBytes();
+        }
+        return total;
+    }
+
+    /**
+     * @return the registered dictionaries as "language-wordLength", from least
+     *         to most recently used
+     */
+    public synchronized List<String> keys() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    private static String key(String language, int wordLength) {
+        return language.toLowerCase() + "-" + wordLength;
+    }
+
+    /**
+     * A registered dictionary, loaded at most once.
+     */
+    private static class Entry {
+        private final String key;
+        private final int wordLength;
+        private final Supplier<Dictionary> loader;
+        private volatile Dictionary loaded;
+
+        Entry(String key, int wordLength, Supplier<Dictionary> loader) {
+            this.key = key;
+            this.wordLength = wordLength;
+            this.loader = loader;
+        }
+
+        Dictionary dictionary() {
+            Dictionary dictionary = loaded;
+            if (dictionary == null) {
+                synchronized (this) {
+                    dictionary = loaded;
+                    if (dictionary == null) {
+                        dictionary = loader.get();
+                        if (dictionary.WORD_LENGTH != wordLength)
+                            throw new IllegalStateException(key + " has words of length " + dictionary.WORD_LENGTH);
+                        loaded = dictionary;
+                    }
+                }
+            }
+            return dictionary;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package no.uib.inf102.wordle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * A table of the feedback every guess word gives for every answer word of a
+ * Dictionary. Row <code>g</code> belongs to the guess word with id
+ * <code>g</code> (which is its index in <code>getGuessWordsList()</code>) and
+ * column <code>a</code> to the answer word with index <code>a</code> in
+ * <code>getAnswerWordsList()</code>.
+ * <br>
+ * </br>
+ * Each entry holds the feedback as a pattern code, see
+ * <code>FeedbackPattern</code>. The 3^5 = 243 codes of words of up to 5
+ * letters fit in one byte, and longer words up to MAX_WORD_LENGTH use two
+ * bytes (3^10 = 59049 codes) per entry.
+ * <br>
+ * </br>
+ * The matrix is computed once and can be stored in a checksummed cache file
+ * which is memory-mapped on later runs.
+ */
+public class FeedbackMatrix {
+
+    private static final int MAGIC = 0x57464d58; // "WFMX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 4 + 8 + 8;
+
+    /**
+     * The largest word length whose pattern codes (3^k of them) fit in a byte.
+     */
+    public static final int MAX_BYTE_WORD_LENGTH = 5;
+
+    /**
+     * The largest word length whose pattern codes fit in two bytes.
+     */
+    public static final int MAX_WORD_LENGTH = 10;
+
+    private final int guessCount;
+    private final int answerCount;
+    private final ByteBuffer patterns;
+
+    /**
+     * View of <code>patterns</code> with two bytes per entry, or null if the
+     * entries are single bytes.
+     */
+    private final CharBuffer widePatterns;
+
+    private FeedbackMatrix(int guessCount, int answerCount, ByteBuffer patterns, int wordLength) {
+        this.guessCount = guessCount;
+        this.answerCount = answerCount;
+        this.patterns = patterns;
+        this.widePatterns = entrySize(wordLength) == 1 ? null : patterns.duplicate().rewind().asCharBuffer();
+    }
+
+    /**
+     * Gets the number of bytes of each entry for words of the given length.
+     *
+     * @param wordLength
+     * @return 1 or 2
+     */
+    public static int entrySize(int wordLength) {
+        return wordLength <= MAX_BYTE_WORD_LENGTH ? 1 : 2;
+    }
+
+    /**
+     * Checks if a feedback matrix can be made for the given dictionary, that is
+     * if the pattern codes fit in two bytes and the table fits in an array.
+     *
+     * @param dictionary
+     * @return true if the dictionary can have a feedback matrix
+     */
+    public static boolean supports(Dictionary dictionary) {
+        return dictionary.WORD_LENGTH <= MAX_WORD_LENGTH && dataSize(dictionary) <= Integer.MAX_VALUE;
+    }
+
+    private static long dataSize(Dictionary dictionary) {
+        return (long) dictionary.guessCount() * dictionary.answerCount() * entrySize(dictionary.WORD_LENGTH);
+    }
+
+    /**
+     * Computes the feedback matrix of the given dictionary without touching the
+     * disk.
+     *
+     * @param dictionary
+     * @return the feedback matrix
+     */
+    public static FeedbackMatrix compute(Dictionary dictionary) { // O(n * a * k)
+        if (dictionary.WORD_LENGTH > MAX_WORD_LENGTH)
+            throw new IllegalArgumentException("Feedback matrix only supports words of up to " + MAX_WORD_LENGTH
+                    + " letters, but got " + dictionary.WORD_LENGTH);
+
+        int guessCount = dictionary.guessCount();
+        int answerCount = dictionary.answerCount();
+        if (dataSize(dictionary) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary is too large for a feedback matrix");
+
+        int[] answerIds = new int[answerCount];
+        for (int a = 0; a < answerCount; a++) {
+            answerIds[a] = dictionary.getAnswerId(a);
+        }
+        ByteBuffer table;
+        if (entrySize(dictionary.WORD_LENGTH) == 1) {
+            byte[] bytes = new byte[guessCount * answerCount];
+            IntStream.range(0, guessCount).parallel().forEach(g -> { // O(n * a * k)
+                int[] counts = new int[dictionary.alphabetSize()];
+                int offset = g * answerCount;
+                for (int a = 0; a < answerCount; a++) {
+                    bytes[offset + a] = (byte) dictionary.match(g, answerIds[a], counts);
+                }
+            });
+            table = ByteBuffer.wrap(bytes);
+        } else {
+            table = ByteBuffer.allocate(2 * guessCount * answerCount);
+            CharBuffer chars = table.asCharBuffer();
+            IntStream.range(0, guessCount).parallel().forEach(g -> { // O(n * a * k)
+                int[] counts = new int[dictionary.alphabetSize()];
+                int offset = g * answerCount;
+                for (int a = 0; a < answerCount; a++) {
+                    chars.put(offset + a, (char) dictionary.match(g, answerIds[a], counts));
+                }
+            });
+        }
+        return new FeedbackMatrix(guessCount, answerCount, table, dictionary.WORD_LENGTH);
+    }
+
+    /**
+     * Gets the feedback matrix of the given dictionary from
+     * <code>cacheFile</code>. If the file is missing, belongs to another
+     * dictionary or is corrupt, the matrix is computed and the file is
+     * (re)written.
+     *
+     * @param dictionary
+     * @param cacheFile
+     * @return the feedback matrix
+     */
+    public static FeedbackMatrix load(Dictionary dictionary, Path cacheFile) {
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                FeedbackMatrix cached = map(dictionary, cacheFile);
+                if (cached != null)
+                    return cached;
+            } catch (IOException e) {
+                System.err.println("Could not read feedback matrix cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+
+        FeedbackMatrix matrix = compute(dictionary);
+        try {
+            matrix.write(dictionary, cacheFile);
+        } catch (IOException e) {
+            System.err.println("Could not write feedback matrix cache " + cacheFile + ": " + e.getMessage());
+        }
+        return matrix;
+    }
+
+    /**
+     * Memory-maps a cache file, returning null if it does not match the
+     * dictionary or its checksum is wrong.
+     */
+    private static FeedbackMatrix map(Dictionary dictionary, Path cacheFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            int guessCount = dictionary.guessCount();
+            int answerCount = dictionary.answerCount();
+            long dataSize = dataSize(dictionary);
+            if (channel.size() != HEADER_SIZE + dataSize)
+                return null;
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != dictionary.WORD_LENGTH
+                    || header.getInt() != guessCount || header.getInt() != answerCount
+                    || header.getLong() != dictionary.getChecksum())
+                return null;
+            long dataChecksum = header.getLong();
+
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, dataSize);
+            if (checksum(data.duplicate()) != dataChecksum)
+                return null;
+            return new FeedbackMatrix(guessCount, answerCount, data, dictionary.WORD_LENGTH);
+        }
+    }
+
+    /**
+     * Writes this matrix to <code>cacheFile</code>. The file is written to a
+     * temporary file first so that a crash never leaves a half written cache.
+     */
+    private void write(Dictionary dictionary, Path cacheFile) throws IOException {
+        Path folder = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(folder);
+        Path tmp = Files.createTempFile(folder, cacheFile.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(dictionary.WORD_LENGTH);
+            header.putInt(guessCount).putInt(answerCount);
+            header.putLong(dictionary.getChecksum());
+            header.putLong(checksum(patterns.duplicate().rewind()));
+            header.flip();
+            while (header.hasRemaining())
+                channel.write(header);
+
+            ByteBuffer data = patterns.duplicate().rewind();
+            while (data.hasRemaining())
+                channel.write(data);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long checksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    /**
+     * Gets the pattern code of the feedback the given guess gets when the answer
+     * is the given answer.
+     *
+     * @param guessIndex  index in the guess word list
+     * @param answerIndex index in the answer word list
+     * @return pattern code
+     */
+    public int get(int guessIndex, int answerIndex) { // O(1)
+        int i = guessIndex * answerCount + answerIndex;
+        return widePatterns == null ? patterns.get(i) & 0xFF : widePatterns.get(i);
+    }
+
+    /**
+     * @return the number of bytes of the table
+     */
+    public long sizeInBytes() {
+        return patterns.capacity();
+    }
+
+    /**
+     * @return the number of rows, one for each guess word
+     */
+    public int guessCount() {
+        return guessCount;
+    }
+
+    /**
+     * @return the number of columns, one for each answer word
+     */
+    public int answerCount() {
+        return answerCount;
+    }
+}
@@ -0,0 +1,131 @@
+package no.uib.inf102.wordle.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import no.uib.inf102.wordle.model.word.IAnswer;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * A game of several Wordle boards played at once, like Quordle with 4 boards
+ * or Octordle with 8. Every guess is made on all boards that are not solved
+ * yet, and each board gives its own feedback. The game is won when every board
+ * is solved.
+ */
+public class MultiBoardGame {
+
+    /**
+     * Guesses allowed beyond one per board, so 9 guesses for 4 boards like in
+     * Quordle and 13 for 8 boards like in Octordle.
+     */
+    public static final int EXTRA_GUESSES = 5;
+
+    private final IAnswer[] boards;
+    private final boolean[] solved;
+    private int solvedCount;
+    private int guessCount;
+
+    /**
+     * @param boards the host of each board
+     */
+    public MultiBoardGame(List<? extends IAnswer> boards) {
+        if (boards.isEmpty())
+            throw new IllegalArgumentException("A game needs at least one board");
+        this.boards = boards.toArray(new IAnswer[0]);
+        this.solved = new boolean[this.boards.length];
+    }
+
+    /**
+     * Creates a game with <code>boardCount</code> different answers drawn at
+     * random from the answer word list.
+     *
+     * @param dictionary
+     * @param boardCount
+     * @param random
+     * @return a new game
+     */
+    public static MultiBoardGame random(Dictionary dictionary, int boardCount, Random random) { // O(m)
+        List<String> answerWords = new ArrayList<>(dictionary.getAnswerWordsList());
+        if (boardCount > answerWords.size())
+            throw new IllegalArgumentException("Only " + answerWords.size() + " answers for " + boardCount + " boards");
+        Collections.shuffle(answerWords, random);
+        List<WordleAnswer> answers = new ArrayList<>(boardCount);
+        for (String answer : answerWords.subList(0, boardCount)) {
+            answers.add(new WordleAnswer(answer, dictionary));
+        }
+        return new MultiBoardGame(answers);
+    }
+
+    /**
+     * Makes the guess on every board that is not solved.
+     *
+     * @param wordGuess
+     * @return the feedback of each board, null for the boards that were solved
+     *         before this guess
+     * @throws IllegalArgumentException if <code>wordGuess</code> is not a legal
+     *                                  guess
+     * @throws IllegalStateException    if every board is solved
+     */
+    public WordleWord[] makeGuess(String wordGuess) { // O(N * k^2)
+        if (isWon())
+            throw new IllegalStateException("Every board is solved");
+        WordleWord[] feedback = new WordleWord[boards.length];
+        for (int b = 0; b < boards.length; b++) {
+            if (solved[b])
+                continue;
+            feedback[b] = boards[b].makeGuess(wordGuess);
+            if (feedback[b].allMatch()) {
+                solved[b] = true;
+                solvedCount++;
+            }
+        }
+        guessCount++;
+        return feedback;
+    }
+
+    /**
+     * @return the number of boards
+     */
+    public int boardCount() {
+        return boards.length;
+    }
+
+    /**
+     * @param board
+     * @return true if the board has been solved
+     */
+    public boolean isSolved(int board) {
+        return solved[board];
+    }
+
+    /**
+     * @return the number of boards that have been solved
+     */
+    public int solvedCount() {
+        return solvedCount;
+    }
+
+    /**
+     * @return true if every board has been solved
+     */
+    public boolean isWon() {
+        return solvedCount == boards.length;
+    }
+
+    /**
+     * @return the number of guesses made
+     */
+    public int guessCount() {
+        return guessCount;
+    }
+
+    /**
+     * @return the number of guesses allowed to win the game
+     */
+    public int maxGuesses() {
+        return boards.length + EXTRA_GUESSES;
+    }
+}
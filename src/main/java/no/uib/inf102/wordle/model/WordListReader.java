@@ -0,0 +1,145 @@
+package no.uib.inf102.wordle.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import no.uib.inf102.wordle.metrics.DictionaryLoadEvent;
+
+/**
+ * Reads word lists, one word per line in UTF-8, straight into a Dictionary.
+ * <br>
+ * </br>
+ * The lists are read in one pass where every line is trimmed and lowercased,
+ * blank lines are skipped and the length of the word is checked. The letters
+ * are appended to one char array, so no String or List is made for the words.
+ * The Dictionary then packs the letters and skips words that are repeated in a
+ * list.
+ * <br>
+ * </br>
+ * The lists can be files or classpath resources, so the dictionary can be
+ * loaded from a packaged jar without the source tree.
+ */
+public class WordListReader {
+
+    private char[] chars = new char[1 << 16];
+    private int wordCount;
+    private int wordLength = -1;
+    private final BitSet letters = new BitSet();
+
+    private WordListReader() {
+    }
+
+    /**
+     * Reads the dictionary of two word list files.
+     *
+     * @param guessFile   file with one guess word per line
+     * @param answerFile  file with one answer word per line
+     * @param cacheFolder folder where the dictionary caches derived tables, or
+     *                    null
+     * @return the dictionary
+     * @throws IOException if a file can not be read or has a word of the wrong
+     *                     length
+     */
+    public static Dictionary read(Path guessFile, Path answerFile, Path cacheFolder) throws IOException { // O(n * k)
+        DictionaryLoadEvent event = DictionaryLoadEvent.start();
+        WordListReader reader = new WordListReader();
+        try (BufferedReader in = Files.newBufferedReader(guessFile, StandardCharsets.UTF_8)) {
+            reader.readList(in, guessFile.toString());
+        }
+        int guessWordCount = reader.wordCount;
+        try (BufferedReader in = Files.newBufferedReader(answerFile, StandardCharsets.UTF_8)) {
+            reader.readList(in, answerFile.toString());
+        }
+        return event.finish("word lists", guessFile + ", " + answerFile,
+                reader.toDictionary(guessWordCount, cacheFolder));
+    }
+
+    /**
+     * Reads the dictionary of two word lists on the classpath. The dictionary
+     * has no cache folder, since a resource may be inside a jar.
+     *
+     * @param guessResource  absolute resource name of the guess word list
+     * @param answerResource absolute resource name of the answer word list
+     * @return the dictionary
+     * @throws IOException if a resource is missing, can not be read or has a
+     *                     word of the wrong length
+     */
+    public static Dictionary readResources(String guessResource, String answerResource) throws IOException { // O(n * k)
+        DictionaryLoadEvent event = DictionaryLoadEvent.start();
+        WordListReader reader = new WordListReader();
+        try (BufferedReader in = openResource(guessResource)) {
+            reader.readList(in, guessResource);
+        }
+        int guessWordCount = reader.wordCount;
+        try (BufferedReader in = openResource(answerResource)) {
+            reader.readList(in, answerResource);
+        }
+        return event.finish("word lists", guessResource + ", " + answerResource,
+                reader.toDictionary(guessWordCount, null));
+    }
+
+    private static BufferedReader openResource(String name) throws IOException {
+        InputStream in = WordListReader.class.getResourceAsStream(name);
+        if (in == null)
+            throw new IOException("Could not find the word list " + name + " on the classpath");
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private void readList(BufferedReader in, String source) throws IOException { // O(n * k)
+        int before = wordCount;
+        int lineNumber = 0;
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            lineNumber++;
+            int start = 0;
+            int end = line.length();
+            while (start < end && Character.isWhitespace(line.charAt(start)))
+                start++;
+            while (end > start && Character.isWhitespace(line.charAt(end - 1)))
+                end--;
+            if (start == end)
+                continue;
+
+            if (wordLength < 0)
+                wordLength = end - start;
+            if (end - start != wordLength)
+                throw new IOException(source + ":" + lineNumber + ": the word " + line.substring(start, end)
+                        + " does not have length " + wordLength);
+
+            int offset = wordCount * wordLength;
+            if (offset + wordLength > chars.length)
+                chars = Arrays.copyOf(chars, 2 * chars.length);
+            for (int i = start; i < end; i++) {
+                char c = Character.toLowerCase(line.charAt(i));
+                chars[offset++] = c;
+                letters.set(c);
+            }
+            wordCount++;
+        }
+        if (wordCount == before)
+            throw new IOException(source + " has no words");
+    }
+
+    private Dictionary toDictionary(int guessWordCount, Path cacheFolder) { // O(n * k log alphabet)
+        char[] alphabet = new char[letters.cardinality()];
+        int n = 0;
+        for (int c = letters.nextSetBit(0); c >= 0; c = letters.nextSetBit(c + 1)) {
+            alphabet[n++] = (char) c;
+        }
+        if (alphabet.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary can not use more than " + Byte.MAX_VALUE + " letters");
+
+        int size = wordCount * wordLength;
+        byte[] packed = new byte[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = (byte) Arrays.binarySearch(alphabet, chars[i]);
+        }
+        return new Dictionary(wordLength, alphabet, packed, guessWordCount, wordCount, cacheFolder);
+    }
+}
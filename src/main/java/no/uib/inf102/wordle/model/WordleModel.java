@@ -9,6 +9,7 @@ import no.uib.inf102.grid.GridDimension;
 import no.uib.inf102.wordle.controller.ControllableWordleModel;
 import no.uib.inf102.wordle.model.word.WordleCharacter;
 import no.uib.inf102.wordle.model.word.AnswerType;
+import no.uib.inf102.wordle.model.word.LegalGuessList;
 import no.uib.inf102.wordle.model.word.WordleAnswer;
 import no.uib.inf102.wordle.model.word.WordleWord;
 import no.uib.inf102.wordle.view.gameView.ViewableWordleModel;
@@ -34,8 +35,18 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
 
     private GameState gameState;
 
+    /**
+     * In hard mode every guess must be consistent with the feedback so far.
+     */
+    private boolean hardMode;
+
+    /**
+     * The guesses that are legal in hard mode, or null when not in hard mode.
+     */
+    private LegalGuessList legalGuesses;
+
     public WordleModel(WordleBoard board) {
-        this(board, new Dictionary());
+        this(board, Dictionary.getDefault());
     }
     
     public WordleModel(WordleBoard board, Dictionary dictionary) {
@@ -64,13 +75,35 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
         return true;
     }
 
+    /**
+     * Turns hard mode on or off. In hard mode every guess must be a word that
+     * could be the answer given the feedback so far.
+     * 
+     * @param hardMode
+     * @throws IllegalStateException if a guess has been made in this game
+     */
+    public void setHardMode(boolean hardMode) {
+        if (board.getCurrentRow() > 0)
+            throw new IllegalStateException("Hard mode can only be changed before the first guess");
+        this.hardMode = hardMode;
+        this.legalGuesses = hardMode ? new LegalGuessList(dictionary) : null;
+    }
+
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
     @Override
     public WordleWord makeGuess() throws IllegalArgumentException {
         if (!dictionary.isLegalGuess(currentGuess))
             throw new IllegalArgumentException("Word is not legal");
+        if (hardMode && !legalGuesses.isLegal(currentGuess)) // O(k)
+            throw new IllegalArgumentException("Word does not fit the feedback so far");
     
         // Check what letters were CORRECT/WRONG POSITION/WRONG
         WordleWord guessFeedback = answer.makeGuess(currentGuess);
+        if (hardMode)
+            legalGuesses.add(guessFeedback); // O(n * k)
         board.setRow(guessFeedback);
         if (guessFeedback.allMatch())
             gameState = GameState.VICTORY;
@@ -129,6 +162,8 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
         this.answer = new WordleAnswer(dictionary);
         this.currentGuess = "";
         this.board = new WordleBoard(this.board.rows(), this.board.cols());
+        if (hardMode)
+            this.legalGuesses = new LegalGuessList(dictionary);
 
         this.gameState = GameState.ACTIVE_GAME;
     }
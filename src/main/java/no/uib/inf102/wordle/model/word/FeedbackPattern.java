@@ -0,0 +1,233 @@
+package no.uib.inf102.wordle.model.word;
+
+/**
+ * Feedback packed into a single int, a pattern code. The digit with weight 3^i
+ * of the code is the answer type of letter i of the guess: 0 for WRONG, 1 for
+ * MISPLACED and 2 for CORRECT. For 5 letter words the codes go from 0 (all
+ * WRONG) to 242 (all CORRECT).
+ * <br>
+ * </br>
+ * Scoring a guess into a pattern code allocates nothing, which makes it
+ * suitable for solvers that score millions of guess/answer pairs.
+ */
+public class FeedbackPattern {
+
+    public static final int WRONG = 0;
+    public static final int MISPLACED = 1;
+    public static final int CORRECT = 2;
+
+    /**
+     * The longest word whose pattern codes fit in an int.
+     */
+    public static final int MAX_WORD_LENGTH = 19;
+
+    private static final AnswerType[] DIGIT_TO_TYPE = { AnswerType.WRONG, AnswerType.MISPLACED,
+            AnswerType.CORRECT };
+
+    /**
+     * Gets the number of different pattern codes for words of the given length,
+     * 3^k.
+     *
+     * @param wordLength
+     * @return number of pattern codes
+     */
+    public static int patternCount(int wordLength) { // O(k)
+        checkWordLength(wordLength);
+        int count = 1;
+        for (int i = 0; i < wordLength; i++) {
+            count *= 3;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the pattern code where every letter is CORRECT.
+     *
+     * @param wordLength
+     * @return the winning pattern code
+     */
+    public static int allCorrect(int wordLength) { // O(k)
+        return patternCount(wordLength) - 1;
+    }
+
+    /**
+     * Scores <code>guess</code> against <code>answer</code>. The rules are the
+     * same as for <code>WordleAnswer::matchWord</code>.
+     * <br>
+     * </br>
+     * Instead of counting the letters of the answer in a map, the letters of the
+     * answer that have been matched are marked in a bitmask. This works for any
+     * alphabet and allocates nothing.
+     *
+     * @param guess
+     * @param answer
+     * @return pattern code of the feedback
+     */
+    public static int match(CharSequence guess, CharSequence answer) { // O(k^2)
+        int wordLength = answer.length();
+        if (guess.length() != wordLength)
+            throw new IllegalArgumentException("Guess and answer must have same number of letters but guess = " + guess
+                    + " and answer = " + answer);
+        checkWordLength(wordLength);
+
+        int used = 0;
+        for (int i = 0; i < wordLength; i++) { // O(k)
+            if (guess.charAt(i) == answer.charAt(i))
+                used |= 1 << i;
+        }
+        int correct = used;
+
+        int code = 0;
+        int weight = 1;
+        for (int i = 0; i < wordLength; i++, weight *= 3) { // O(k) * O(k)
+            if ((correct & (1 << i)) != 0) {
+                code += CORRECT * weight;
+                continue;
+            }
+            char letter = guess.charAt(i);
+            for (int j = 0; j < wordLength; j++) { // O(k)
+                if ((used & (1 << j)) == 0 && answer.charAt(j) == letter) {
+                    used |= 1 << j;
+                    code += MISPLACED * weight;
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Scores a guess against an answer where both words are stored as letter
+     * indices (0 for the first letter of the alphabet, 1 for the next and so on)
+     * in <code>letters</code>.
+     * <br>
+     * </br>
+     * The letters of the answer are counted in <code>counts</code>, which must
+     * have room for every letter index and be all zero. It is all zero again
+     * when the method returns, so the same array can be reused for every call.
+     *
+     * @param letters      packed letters of the words
+     * @param guessOffset  index of the first letter of the guess
+     * @param answerOffset index of the first letter of the answer
+     * @param wordLength
+     * @param counts       scratch array of letter counts
+     * @return pattern code of the feedback
+     */
+    public static int match(byte[] letters, int guessOffset, int answerOffset, int wordLength, int[] counts) { // O(k)
+        int correct = 0;
+        for (int i = 0; i < wordLength; i++) { // O(k)
+            byte answerLetter = letters[answerOffset + i];
+            if (letters[guessOffset + i] == answerLetter)
+                correct |= 1 << i;
+            else
+                counts[answerLetter]++;
+        }
+
+        int code = 0;
+        int weight = 1;
+        for (int i = 0; i < wordLength; i++, weight *= 3) { // O(k)
+            if ((correct & (1 << i)) != 0) {
+                code += CORRECT * weight;
+            } else {
+                byte letter = letters[guessOffset + i];
+                if (counts[letter] > 0) {
+                    counts[letter]--;
+                    code += MISPLACED * weight;
+                }
+            }
+        }
+
+        for (int i = 0; i < wordLength; i++) { // O(k)
+            counts[letters[answerOffset + i]] = 0;
+        }
+        return code;
+    }
+
+    /**
+     * Packs the given feedback into a pattern code.
+     *
+     * @param feedback answer types, none of them BLANK
+     * @return pattern code
+     */
+    public static int encode(AnswerType[] feedback) { // O(k)
+        checkWordLength(feedback.length);
+        int code = 0;
+        int weight = 1;
+        for (AnswerType type : feedback) { // O(k)
+            code += digit(type) * weight;
+            weight *= 3;
+        }
+        return code;
+    }
+
+    /**
+     * Packs the answer types of the given WordleWord into a pattern code.
+     *
+     * @param feedback
+     * @return pattern code
+     */
+    public static int encode(WordleWord feedback) { // O(k)
+        int code = 0;
+        int weight = 1;
+        int wordLength = 0;
+        for (WordleCharacter wordleChar : feedback) { // O(k)
+            code += digit(wordleChar.answerType) * weight;
+            weight *= 3;
+            wordLength++;
+        }
+        checkWordLength(wordLength);
+        return code;
+    }
+
+    /**
+     * Unpacks a pattern code into answer types.
+     *
+     * @param code
+     * @param wordLength
+     * @return answer type of each letter
+     */
+    public static AnswerType[] decode(int code, int wordLength) { // O(k)
+        if (code < 0 || code >= patternCount(wordLength))
+            throw new IllegalArgumentException("Pattern code " + code + " is out of range for " + wordLength
+                    + " letter words");
+        AnswerType[] feedback = new AnswerType[wordLength];
+        for (int i = 0; i < wordLength; i++) { // O(k)
+            feedback[i] = DIGIT_TO_TYPE[code % 3];
+            code /= 3;
+        }
+        return feedback;
+    }
+
+    /**
+     * Creates the WordleWord for <code>guess</code> with the feedback of the
+     * given pattern code.
+     *
+     * @param guess
+     * @param code
+     * @return feedback as a WordleWord
+     */
+    public static WordleWord toWordleWord(String guess, int code) { // O(k)
+        return new WordleWord(guess, decode(code, guess.length()));
+    }
+
+    private static int digit(AnswerType type) {
+        if (type == null)
+            throw new IllegalArgumentException("Feedback can not contain null");
+        switch (type) {
+            case WRONG:
+                return WRONG;
+            case MISPLACED:
+                return MISPLACED;
+            case CORRECT:
+                return CORRECT;
+            default:
+                throw new IllegalArgumentException("Feedback can not contain " + type);
+        }
+    }
+
+    private static void checkWordLength(int wordLength) {
+        if (wordLength > MAX_WORD_LENGTH)
+            throw new IllegalArgumentException("Pattern codes only support words of up to " + MAX_WORD_LENGTH
+                    + " letters, but got " + wordLength);
+    }
+}
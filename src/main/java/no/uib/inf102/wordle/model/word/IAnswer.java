@@ -0,0 +1,18 @@
+package no.uib.inf102.wordle.model.word;
+
+/**
+ * The host of a Wordle game, which gives feedback on each guess.
+ */
+public interface IAnswer {
+
+    /**
+     * Gives the feedback on <code>wordGuess</code>. The game is won when every
+     * character of the feedback is correct.
+     *
+     * @param wordGuess
+     * @return wordleWord with the answertype of each character
+     * @throws IllegalArgumentException if <code>wordGuess</code> is not a legal
+     *                                  guess
+     */
+    WordleWord makeGuess(String wordGuess);
+}
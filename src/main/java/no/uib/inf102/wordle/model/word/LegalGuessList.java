@@ -0,0 +1,126 @@
+package no.uib.inf102.wordle.model.word;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * The guess words that are still legal in hard mode, where every guess must be
+ * consistent with all the feedback so far, that is it must be a word that could
+ * be the answer.
+ * <br>
+ * </br>
+ * The legal guesses are a bitset over the guess ids of the dictionary. The
+ * feedback is compiled into WordConstraints, and after each turn only the
+ * guesses that were still legal are tested against them, so checking a guess
+ * is a single bit lookup and nothing in the history is scored again.
+ */
+public class LegalGuessList {
+
+    private final Dictionary dictionary;
+    private final WordConstraints constraints;
+
+    /**
+     * Bit <code>id</code> is set if the guess word with that id is legal.
+     */
+    private final long[] legal;
+    private int size;
+
+    /**
+     * Creates a list where every guess word is legal.
+     *
+     * @param dictionary
+     * @throws IllegalArgumentException if the dictionary has more letters than
+     *                                  WordConstraints supports
+     */
+    public LegalGuessList(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        this.constraints = new WordConstraints(dictionary);
+        int guessCount = dictionary.guessCount();
+        this.legal = new long[(guessCount + 63) >>> 6];
+        for (int id = 0; id < guessCount; id++) {
+            legal[id >>> 6] |= 1L << id;
+        }
+        this.size = guessCount;
+    }
+
+    /**
+     * Adds the feedback of a guess and removes the guesses that are no longer
+     * consistent with it.
+     *
+     * @param feedback
+     */
+    public void add(WordleWord feedback) { // O(n * k)
+        constraints.add(feedback);
+        filter();
+    }
+
+    /**
+     * Adds the feedback with pattern code <code>code</code> for the guess with
+     * id <code>guessId</code>.
+     *
+     * @param guessId
+     * @param code
+     */
+    public void add(int guessId, int code) { // O(n * k)
+        constraints.add(guessId, code);
+        filter();
+    }
+
+    private void filter() { // O(n * k)
+        int count = 0;
+        for (int w = 0; w < legal.length; w++) {
+            long bits = legal[w];
+            long remaining = bits;
+            while (remaining != 0) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (!constraints.test((w << 6) + bit)) // O(k)
+                    bits &= ~(1L << bit);
+            }
+            legal[w] = bits;
+            count += Long.bitCount(bits);
+        }
+        size = count;
+    }
+
+    /**
+     * @param guessId
+     * @return true if the guess with the given id is legal
+     */
+    public boolean isLegal(int guessId) { // O(1)
+        return guessId >= 0 && guessId < dictionary.guessCount() && (legal[guessId >>> 6] & (1L << guessId)) != 0;
+    }
+
+    /**
+     * @param guess
+     * @return true if <code>guess</code> is in the guess list and legal
+     */
+    public boolean isLegal(String guess) { // O(k)
+        return isLegal(dictionary.getGuessIndex(guess));
+    }
+
+    /**
+     * Finds the next legal guess id.
+     *
+     * @param fromId
+     * @return the first legal guess id at or after <code>fromId</code>, or -1
+     */
+    public int nextLegal(int fromId) { // O(1) amortized
+        int w = fromId >>> 6;
+        if (w >= legal.length)
+            return -1;
+        long bits = legal[w] & (-1L << fromId);
+        while (bits == 0) {
+            if (++w == legal.length)
+                return -1;
+            bits = legal[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @return the number of legal guesses
+     */
+    public int size() {
+        return size;
+    }
+}
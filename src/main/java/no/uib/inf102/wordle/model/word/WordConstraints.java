@@ -0,0 +1,297 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.Arrays;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * What the feedback of a game so far says about the answer, compiled into a
+ * few masks and counts:
+ * <ul>
+ * <li>for each position, a bitmask of the letters that can be there</li>
+ * <li>for each letter, the least and most times it can be in the answer</li>
+ * </ul>
+ * Letters are the letter indices of a Dictionary, so a mask is a long and the
+ * dictionary can have at most 64 different letters.
+ * <br>
+ * </br>
+ * A word gives the same feedback as the answer for every guess so far exactly
+ * when it passes <code>test</code>, as long as the feedback was made by the
+ * rules of <code>WordleAnswer::matchWord</code>. Testing a word only reads its
+ * packed letters in the dictionary, so no feedback has to be computed.
+ */
+public class WordConstraints {
+
+    /**
+     * The largest alphabet whose letters fit in a mask.
+     */
+    public static final int MAX_ALPHABET_SIZE = Long.SIZE;
+
+    private final Dictionary dictionary;
+    private final int wordLength;
+
+    /**
+     * Bit <code>l</code> of <code>allowed[i]</code> is set if letter index
+     * <code>l</code> can be at position <code>i</code>.
+     */
+    private final long[] allowed;
+
+    /**
+     * Set for the positions where a guess got CORRECT feedback, so the letter
+     * there is known.
+     */
+    private final boolean[] fixed;
+
+    private final int[] minCount;
+    private final int[] maxCount;
+
+    /**
+     * Letters that must be in the answer, those with a minimum count of at least
+     * one.
+     */
+    private long required;
+
+    /**
+     * Letters whose count must be checked by counting, because the answer must
+     * have more than one of them or has a limited number of them.
+     */
+    private int[] countedLetters = new int[0];
+
+    /**
+     * Set if no word can pass, for instance when the feedback says a letter no
+     * word uses is in the answer.
+     */
+    private boolean impossible;
+
+    /**
+     * Scratch arrays used while adding feedback.
+     */
+    private final int[] found;
+    private final boolean[] hasWrong;
+    private final int[] guessLetters;
+
+    /**
+     * Creates constraints that every word passes.
+     *
+     * @param dictionary
+     * @throws IllegalArgumentException if the dictionary has more than
+     *                                  MAX_ALPHABET_SIZE letters
+     */
+    public WordConstraints(Dictionary dictionary) {
+        if (!supports(dictionary))
+            throw new IllegalArgumentException("Word constraints support at most " + MAX_ALPHABET_SIZE
+                    + " different letters, but the dictionary has " + dictionary.alphabetSize());
+        this.dictionary = dictionary;
+        this.wordLength = dictionary.WORD_LENGTH;
+        int alphabetSize = dictionary.alphabetSize();
+
+        this.allowed = new long[wordLength];
+        long allLetters = alphabetSize == Long.SIZE ? -1L : (1L << alphabetSize) - 1;
+        Arrays.fill(allowed, allLetters);
+        this.fixed = new boolean[wordLength];
+        this.minCount = new int[alphabetSize];
+        this.maxCount = new int[alphabetSize];
+        Arrays.fill(maxCount, wordLength);
+
+        this.found = new int[alphabetSize];
+        this.hasWrong = new boolean[alphabetSize];
+        this.guessLetters = new int[wordLength];
+    }
+
+    /**
+     * Checks if the letters of the given dictionary fit in the masks.
+     *
+     * @param dictionary
+     * @return true if constraints can be made for the dictionary
+     */
+    public static boolean supports(Dictionary dictionary) {
+        return dictionary.alphabetSize() <= MAX_ALPHABET_SIZE;
+    }
+
+    /**
+     * Adds the feedback of a guess. The guess does not have to be in the
+     * dictionary.
+     *
+     * @param feedback
+     */
+    public void add(WordleWord feedback) { // O(k log alphabet)
+        String guess = feedback.getWordString();
+        for (int i = 0; i < wordLength; i++) {
+            guessLetters[i] = dictionary.letterIndex(guess.charAt(i));
+        }
+        add(FeedbackPattern.encode(feedback));
+    }
+
+    /**
+     * Adds the feedback with pattern code <code>code</code> for the word with
+     * id <code>guessId</code>.
+     *
+     * @param guessId
+     * @param code
+     */
+    public void add(int guessId, int code) { // O(k)
+        for (int i = 0; i < wordLength; i++) {
+            guessLetters[i] = dictionary.getLetter(guessId, i);
+        }
+        add(code);
+    }
+
+    /**
+     * Adds the feedback <code>code</code> for the letters in
+     * <code>guessLetters</code>, where -1 is a letter no word uses.
+     */
+    private void add(int code) { // O(k)
+        for (int i = 0; i < wordLength; i++, code /= 3) {
+            int letter = guessLetters[i];
+            int digit = code % 3;
+            if (letter < 0) {
+                // No answer can have this letter, so the feedback must be WRONG
+                if (digit != FeedbackPattern.WRONG)
+                    impossible = true;
+                continue;
+            }
+            long bit = 1L << letter;
+            if (digit == FeedbackPattern.CORRECT) {
+                allowed[i] &= bit;
+                fixed[i] = true;
+                found[letter]++;
+            } else {
+                allowed[i] &= ~bit;
+                if (digit == FeedbackPattern.MISPLACED)
+                    found[letter]++;
+                else
+                    hasWrong[letter] = true;
+            }
+        }
+
+        boolean countsChanged = false;
+        for (int i = 0; i < wordLength; i++) {
+            int letter = guessLetters[i];
+            if (letter < 0 || (found[letter] == 0 && !hasWrong[letter]))
+                continue; // not in the guess, or already handled
+            if (found[letter] > minCount[letter]) {
+                minCount[letter] = found[letter];
+                required |= 1L << letter;
+                countsChanged = true;
+            }
+            if (hasWrong[letter] && found[letter] < maxCount[letter]) {
+                maxCount[letter] = found[letter];
+                countsChanged = true;
+                if (found[letter] == 0) {
+                    // The letter is not in the answer at all
+                    for (int j = 0; j < wordLength; j++) {
+                        allowed[j] &= ~(1L << letter);
+                    }
+                }
+            }
+            if (minCount[letter] > maxCount[letter])
+                impossible = true;
+            found[letter] = 0;
+            hasWrong[letter] = false;
+        }
+        for (long mask : allowed) {
+            if (mask == 0)
+                impossible = true;
+        }
+        if (countsChanged)
+            updateCountedLetters();
+    }
+
+    private void updateCountedLetters() { // O(alphabet)
+        int n = 0;
+        int[] letters = new int[minCount.length];
+        for (int letter = 0; letter < minCount.length; letter++) {
+            boolean limited = maxCount[letter] > 0 && maxCount[letter] < wordLength;
+            if (minCount[letter] > 1 || limited)
+                letters[n++] = letter;
+        }
+        countedLetters = Arrays.copyOf(letters, n);
+    }
+
+    /**
+     * Checks if the word with the given id fits all the feedback added so far.
+     *
+     * @param id
+     * @return true if the word can be the answer
+     */
+    public boolean test(int id) { // O(k)
+        if (impossible)
+            return false;
+        long present = 0;
+        for (int i = 0; i < wordLength; i++) {
+            long bit = 1L << dictionary.getLetter(id, i);
+            if ((allowed[i] & bit) == 0)
+                return false;
+            present |= bit;
+        }
+        if ((present & required) != required)
+            return false;
+        for (int letter : countedLetters) { // usually none
+            int count = 0;
+            for (int i = 0; i < wordLength; i++) {
+                if (dictionary.getLetter(id, i) == letter)
+                    count++;
+            }
+            if (count < minCount[letter] || count > maxCount[letter])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if <code>word</code> fits all the feedback added so far.
+     *
+     * @param word
+     * @return true if the word can be the answer
+     */
+    public boolean test(String word) { // O(k log alphabet)
+        int id = dictionary.getId(word);
+        if (id >= 0)
+            return test(id);
+        // A word outside the dictionary may have letters outside the alphabet
+        if (impossible || word.length() != wordLength)
+            return false;
+        int[] counts = new int[minCount.length];
+        for (int i = 0; i < wordLength; i++) {
+            int letter = dictionary.letterIndex(word.charAt(i));
+            if (letter < 0) {
+                // Only a position whose letter is known rules it out
+                if (fixed[i])
+                    return false;
+                continue;
+            }
+            if ((allowed[i] & (1L << letter)) == 0)
+                return false;
+            counts[letter]++;
+        }
+        for (int letter = 0; letter < counts.length; letter++) {
+            if (counts[letter] < minCount[letter] || counts[letter] > maxCount[letter])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param position
+     * @return bitmask of the letter indices that can be at the position
+     */
+    public long allowedLetters(int position) {
+        return allowed[position];
+    }
+
+    /**
+     * @param letter letter index
+     * @return the least number of times the letter is in the answer
+     */
+    public int minCount(int letter) {
+        return minCount[letter];
+    }
+
+    /**
+     * @param letter letter index
+     * @return the most number of times the letter is in the answer
+     */
+    public int maxCount(int letter) {
+        return maxCount[letter];
+    }
+}
@@ -1,6 +1,5 @@
 package no.uib.inf102.wordle.model.word;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
 
@@ -11,7 +10,7 @@ import no.uib.inf102.wordle.model.Dictionary;
  * 
  * The answer must be one of the words in the LEGAL_WORDLE_LIST.
  */
-public class WordleAnswer {
+public class WordleAnswer implements IAnswer {
 
     private final String WORD;
 
@@ -68,6 +67,7 @@ public class WordleAnswer {
      * @param wordGuess
      * @return wordleWord with updated answertype for each character.
      */
+    @Override
     public WordleWord makeGuess(String wordGuess) {
         if (!dictionary.isLegalGuess(wordGuess))
             throw new IllegalArgumentException("The word '" + wordGuess + "' is not a legal guess");
@@ -79,47 +79,18 @@ public class WordleAnswer {
     /**
      * Generates a WordleWord showing the match between <code>guess</code> and
      * <code>answer</code>
+     * <br>
+     * </br>
+     * The feedback is computed as a pattern code by
+     * <code>FeedbackPattern::match</code>, so solvers that only need the code
+     * should call that directly.
      * 
      * @param guess
      * @param answer
      * @return WordleWord object of the result for the guess and
      */
-    public static WordleWord matchWord(String guess, String answer) { // O(k)
-        int wordLength = answer.length(); // O(1)
-        if (guess.length() != wordLength) // O(1)
-            throw new IllegalArgumentException("Guess and answer must have same number of letters but guess = " + guess
-                    + " and answer = " + answer);
-
-        char[] answerCopy = answer.toCharArray(); // O(k)
-        AnswerType[] feedback = new AnswerType[wordLength]; // O(1)
-        HashMap<Character, Integer> map = new HashMap<>(); // O(1)
-
-        for (char c : answerCopy) { // O(k)
-            map.put(c, map.getOrDefault(c, 0) + 1); // O(1)
-        }
-
-        for (int i = 0; i < wordLength; i++) { // O(k)
-            char letter = guess.charAt(i); // O(1)
-            if (letter == answerCopy[i]) { // O(1)
-                feedback[i] = AnswerType.CORRECT; // O(1)
-                map.put(letter, map.get(letter) - 1); // O(1)
-                answerCopy[i] = '-'; // O(1)
-            }
-        }
-
-        for (int i = 0; i < wordLength; i++) { // O(k)
-            if (feedback[i] == null) { // O(1)
-                char letter = guess.charAt(i); // O(1)
-                int count = map.getOrDefault(letter, 0); // O(1)
-                if (count > 0) { // O(1)
-                    feedback[i] = AnswerType.MISPLACED; // O(1)
-                    map.put(letter, map.get(letter) - 1); // O(1)
-                } else {
-                    feedback[i] = AnswerType.WRONG; // O(1)
-                }
-            }
-        }
-
-        return new WordleWord(guess, feedback); // O(k)
+    public static WordleWord matchWord(String guess, String answer) { // O(k^2)
+        int code = FeedbackPattern.match(guess, answer); // O(k^2)
+        return FeedbackPattern.toWordleWord(guess, code); // O(k)
     }
-}
\ No newline at end of file
+}
@@ -110,8 +110,8 @@ public class WordleWord implements Iterable<WordleCharacter> {
      * @return true if the word adheres to the feedback
      */
     public static boolean isPossibleWord(String word, WordleWord feedback) {
-        WordleWord otherFeedback = WordleAnswer.matchWord(feedback.getWordString(), word); // O(k)
-        return otherFeedback.equals(feedback);
+        int code = FeedbackPattern.match(feedback.getWordString(), word); // O(k^2)
+        return code == FeedbackPattern.encode(feedback); // O(k)
     }
 
     @Override
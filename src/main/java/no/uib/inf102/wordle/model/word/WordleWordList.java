@@ -4,12 +4,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import no.uib.inf102.wordle.metrics.EliminateEvent;
 import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
 
 /**
  * This class describes a structure of two lists for a game of Wordle: The list
  * of words that can be used as guesses and the list of words that can be
  * possible answers.
+ * <br>
+ * </br>
+ * The possible answers are stored as a bitset over the indices of the answer
+ * word list, so eliminating words only clears bits and allocates nothing.
  */
 public class WordleWordList {
 
@@ -21,9 +27,33 @@ public class WordleWordList {
 	/**
 	 * A subset of <code>allWords</code>. <br>
 	 * </br>
-	 * These words can be the answer to a wordle game.
+	 * These words can be the answer to a wordle game. Bit <code>i</code> is set
+	 * if answer word <code>i</code> of the dictionary is still possible.
 	 */
-	private List<String> possibleAnswers;
+	private long[] possibleAnswers;
+
+	/**
+	 * The number of bits set in <code>possibleAnswers</code>
+	 */
+	private int size;
+
+	/**
+	 * The possible answers as Strings, made when asked for and dropped whenever
+	 * words are eliminated.
+	 */
+	private List<String> possibleAnswersList;
+
+	/**
+	 * Feedback of every guess against every answer, or null if the dictionary is
+	 * too large to have one.
+	 */
+	private FeedbackMatrix matrix;
+
+	/**
+	 * The feedback that could not be looked up in the feedback matrix, made when
+	 * first needed.
+	 */
+	private WordConstraints constraints;
 
 	/**
 	 * Create a WordleWordList that uses the full words and limited answers of the
@@ -31,7 +61,12 @@ public class WordleWordList {
 	 */
 	public WordleWordList(Dictionary dictionary) {
 		this.allWords = dictionary;
-		this.possibleAnswers = new ArrayList<>(dictionary.getAnswerWordsList());
+		int answerCount = dictionary.getAnswerWordsList().size();
+		this.possibleAnswers = new long[(answerCount + 63) >>> 6];
+		for (int i = 0; i < answerCount; i++) {
+			possibleAnswers[i >>> 6] |= 1L << i;
+		}
+		this.size = answerCount;
 	}
 
 	/**
@@ -48,8 +83,46 @@ public class WordleWordList {
 	 * 
 	 * @return
 	 */
-	public List<String> possibleAnswers() {
-		return Collections.unmodifiableList(possibleAnswers);
+	public List<String> possibleAnswers() { // O(m)
+		if (possibleAnswersList == null) {
+			List<String> answerWords = allWords.getAnswerWordsList();
+			List<String> list = new ArrayList<>(size);
+			for (int i = nextPossibleAnswer(0); i >= 0; i = nextPossibleAnswer(i + 1)) { // O(m)
+				list.add(answerWords.get(i));
+			}
+			possibleAnswersList = Collections.unmodifiableList(list);
+		}
+		return possibleAnswersList;
+	}
+
+	/**
+	 * Gets the index (in the answer word list of the dictionary) of the first
+	 * possible answer at or after <code>fromIndex</code>.
+	 * 
+	 * @param fromIndex
+	 * @return index of the next possible answer, or -1 if there are none
+	 */
+	public int nextPossibleAnswer(int fromIndex) { // O(1) amortized
+		int wordIndex = fromIndex >>> 6;
+		if (wordIndex >= possibleAnswers.length)
+			return -1;
+		long bits = possibleAnswers[wordIndex] & (-1L << fromIndex);
+		while (bits == 0) {
+			if (++wordIndex == possibleAnswers.length)
+				return -1;
+			bits = possibleAnswers[wordIndex];
+		}
+		return (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Checks if the answer word with the given index is still a possible answer.
+	 * 
+	 * @param answerIndex
+	 * @return true if the answer is possible
+	 */
+	public boolean isPossibleAnswer(int answerIndex) { // O(1)
+		return (possibleAnswers[answerIndex >>> 6] & (1L << answerIndex)) != 0;
 	}
 
 	/**
@@ -58,14 +131,108 @@ public class WordleWordList {
 	 * 
 	 * @param feedback
 	 */
-	public void eliminateWords(WordleWord feedback) { // O(m) * O(k)
-		List<String> newPossibleAnswers = new ArrayList<>(possibleAnswers.size()); // O(1)
-		for (String s : possibleAnswers) { // O(m)
-			if (WordleWord.isPossibleWord(s, feedback)) { // O(k)
-				newPossibleAnswers.add(s); // O(1)
+	public void eliminateWords(WordleWord feedback) { // O(m)
+		EliminateEvent event = EliminateEvent.start(size);
+		String guess = feedback.getWordString(); // O(k)
+		int code = FeedbackPattern.encode(feedback); // O(k)
+		int guessIndex = allWords.getGuessIndex(guess); // O(k)
+
+		if (guessIndex >= 0 && FeedbackMatrix.supports(allWords))
+			eliminateWithMatrix(guessIndex, code); // O(m)
+		else if (WordConstraints.supports(allWords))
+			eliminateWithConstraints(feedback); // O(m * k)
+		else
+			eliminateByScoring(guess, code); // O(m * k^2)
+		event.finish(guess, code, size);
+	}
+
+	/**
+	 * Eliminates the possible answers that would not give pattern code
+	 * <code>code</code> for <code>guess</code> by computing the feedback of each
+	 * of them. Used when there is neither a feedback matrix nor constraints for
+	 * the dictionary.
+	 */
+	private void eliminateByScoring(String guess, int code) { // O(m * k^2)
+		List<String> answerWords = allWords.getAnswerWordsList();
+		for (int w = 0; w < possibleAnswers.length; w++) { // O(m) * O(k^2)
+			long bits = possibleAnswers[w];
+			long remaining = bits;
+			while (remaining != 0) {
+				int bit = Long.numberOfTrailingZeros(remaining);
+				remaining &= remaining - 1;
+				if (FeedbackPattern.match(guess, answerWords.get((w << 6) + bit)) != code)
+					bits &= ~(1L << bit);
 			}
+			possibleAnswers[w] = bits;
+		}
+		updateSize();
+	}
+
+	/**
+	 * Adds the feedback to the constraints of this list and eliminates the
+	 * possible answers that do not pass them. Used when the guess has no row in
+	 * the feedback matrix.
+	 */
+	private void eliminateWithConstraints(WordleWord feedback) { // O(m * k)
+		if (constraints == null)
+			constraints = new WordConstraints(allWords);
+		constraints.add(feedback); // O(k)
+		for (int w = 0; w < possibleAnswers.length; w++) { // O(m) * O(k)
+			long bits = possibleAnswers[w];
+			long remaining = bits;
+			while (remaining != 0) {
+				int bit = Long.numberOfTrailingZeros(remaining);
+				remaining &= remaining - 1;
+				if (!constraints.test(allWords.getAnswerId((w << 6) + bit))) // O(k)
+					bits &= ~(1L << bit);
+			}
+			possibleAnswers[w] = bits;
+		}
+		updateSize();
+	}
+
+	/**
+	 * Eliminates all possible answers that would not give the feedback with
+	 * pattern code <code>code</code> for the guess word with index
+	 * <code>guessIndex</code>. Only the answers that are still possible are
+	 * looked up in the feedback matrix.
+	 * <br>
+	 * </br>
+	 * Both ways of eliminating words are recorded as an EliminateEvent.
+	 * 
+	 * @param guessIndex index in the guess word list
+	 * @param code       pattern code of the feedback
+	 */
+	public void eliminateWords(int guessIndex, int code) { // O(m)
+		EliminateEvent event = EliminateEvent.start(size);
+		eliminateWithMatrix(guessIndex, code);
+		event.finish(allWords, guessIndex, code, size);
+	}
+
+	private void eliminateWithMatrix(int guessIndex, int code) { // O(m)
+		if (matrix == null)
+			matrix = allWords.getFeedbackMatrix();
+		for (int w = 0; w < possibleAnswers.length; w++) { // O(m)
+			long bits = possibleAnswers[w];
+			long remaining = bits;
+			while (remaining != 0) {
+				int bit = Long.numberOfTrailingZeros(remaining); // O(1)
+				remaining &= remaining - 1;
+				if (matrix.get(guessIndex, (w << 6) + bit) != code) // O(1)
+					bits &= ~(1L << bit);
+			}
+			possibleAnswers[w] = bits;
+		}
+		updateSize();
+	}
+
+	private void updateSize() { // O(m / 64)
+		int count = 0;
+		for (long bits : possibleAnswers) {
+			count += Long.bitCount(bits);
 		}
-		possibleAnswers = newPossibleAnswers; // O(1)
+		size = count;
+		possibleAnswersList = null;
 	}
 
 	/**
@@ -74,7 +241,7 @@ public class WordleWordList {
 	 * @return size of
 	 */
 	public int size() {
-		return possibleAnswers.size();
+		return size;
 	}
 
 	/**
@@ -83,7 +250,12 @@ public class WordleWordList {
 	 * @param answer
 	 */
 	public void remove(String answer) {
-		possibleAnswers.remove(answer);
+		int answerIndex = allWords.getAnswerIndex(answer);
+		if (answerIndex < 0 || !isPossibleAnswer(answerIndex))
+			return;
+		possibleAnswers[answerIndex >>> 6] &= ~(1L << answerIndex);
+		size--;
+		possibleAnswersList = null;
 	}
 
 	/**
@@ -1,25 +1,49 @@
 package no.uib.inf102.wordle.resources;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Set;
 
-import no.uib.inf102.util.ReadFile;
+import no.uib.inf102.wordle.model.Dictionary;
 
 /**
  * This class contains the list of guess words and answer words in Wordle.
  */
 public class LoadFromFile5LetterEnglish {
 
-     private static final String FOLDER_PATH = "src/main/java/no/uib/inf102/wordle/resources";
-     private static final String GUESS_WORDS_PATH = FOLDER_PATH + "/allWords.txt";
-     private static final String ANSWER_WORDS_PATH = FOLDER_PATH + "/answerWords.txt";
+     public static final int WORD_LENGTH = 5;
+
+     public static final String FOLDER_PATH = "src/main/java/no/uib/inf102/wordle/resources";
+     public static final String GUESS_WORDS_PATH = FOLDER_PATH + "/allWords.txt";
+     public static final String ANSWER_WORDS_PATH = FOLDER_PATH + "/answerWords.txt";
+
+     /**
+      * The word lists as classpath resources, used when the source tree is not
+      * there.
+      */
+     public static final String GUESS_WORDS_RESOURCE = "/no/uib/inf102/wordle/resources/allWords.txt";
+     public static final String ANSWER_WORDS_RESOURCE = "/no/uib/inf102/wordle/resources/answerWords.txt";
+
+     /**
+      * Folder where tables computed from these word lists are cached. It is
+      * <code>target/wordle-cache</code> unless the system property
+      * <code>wordle.cache</code> names another folder, so the source tree is
+      * never written to.
+      */
+     public static final Path CACHE_FOLDER = Path.of(System.getProperty("wordle.cache", "target/wordle-cache"));
+
+     /**
+      * Binary DictionaryFile made from the two word lists.
+      */
+     public static final String DICTIONARY_PATH = CACHE_FOLDER.resolve("english5.dict").toString();
 
      /**
       * These words are words that can be guessed in a game of Wordle.
+      * The list is a view of the shared default Dictionary, which is only loaded
+      * when one of the lists is first asked for.
       */
-     public static final List<String> GUESS_WORDS_LIST = toList(GUESS_WORDS_PATH);
+     public static List<String> getGuessWordsList() {
+          return Dictionary.getDefault().getGuessWordsList();
+     }
 
      /**
       * These words are a limited subset of the guess words.
@@ -27,10 +51,8 @@ public class LoadFromFile5LetterEnglish {
       * obscure words.
       * All words will have a length equal to WORD_LENGTH
       */
-     public static final List<String> ANSWER_WORDS_LIST = toList(ANSWER_WORDS_PATH);
-
-     private static List<String> toList(String path) {
-          return ReadFile.readLines(path);
+     public static List<String> getAnswerWordsList() {
+          return Dictionary.getDefault().getAnswerWordsList();
      }
 
 }
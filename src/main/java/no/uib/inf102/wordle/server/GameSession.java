@@ -0,0 +1,179 @@
+package no.uib.inf102.wordle.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.GameState;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.LegalGuessList;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * One game of Wordle without a display, as hosted by the SessionService. The
+ * session keeps the answers that are still possible so it can tell how many
+ * are left and give hints.
+ * <br>
+ * </br>
+ * All sessions share the same immutable Dictionary. The methods are
+ * synchronized, so a session can take requests from several threads, but the
+ * requests of one session are handled one at a time.
+ * <br>
+ * </br>
+ * The SessionService only stores the answer, the guesses and their pattern
+ * codes of a game, and makes a GameSession from them for each request by
+ * replaying the guesses.
+ */
+public class GameSession {
+
+    private final String id;
+    private final Dictionary dictionary;
+    private final String answerWord;
+    private final WordleAnswer answer;
+    private final int maxGuesses;
+    private final WordleWordList candidates;
+
+    /**
+     * The guesses that are legal in hard mode, or null when not in hard mode.
+     */
+    private final LegalGuessList legalGuesses;
+
+    private final List<String> guesses = new ArrayList<>();
+    private GameState state = GameState.ACTIVE_GAME;
+    private WordleWord lastFeedback;
+
+    /**
+     * @param id
+     * @param dictionary
+     * @param answerWord the answer of the game
+     * @param maxGuesses the game is lost after this many guesses
+     * @param hardMode   if true, every guess must fit the feedback so far
+     */
+    public GameSession(String id, Dictionary dictionary, String answerWord, int maxGuesses, boolean hardMode) {
+        if (maxGuesses < 1)
+            throw new IllegalArgumentException("Need at least one guess");
+        this.id = id;
+        this.dictionary = dictionary;
+        this.answerWord = answerWord.toLowerCase();
+        this.answer = new WordleAnswer(this.answerWord, dictionary);
+        this.maxGuesses = maxGuesses;
+        this.candidates = new WordleWordList(dictionary);
+        this.legalGuesses = hardMode ? new LegalGuessList(dictionary) : null;
+    }
+
+    /**
+     * Makes a guess.
+     *
+     * @param wordGuess
+     * @return the feedback on the guess
+     * @throws IllegalArgumentException if the word is not a legal guess
+     * @throws IllegalStateException    if the game is over
+     */
+    public synchronized WordleWord guess(String wordGuess) { // O(m), or O(n * k) in hard mode
+        if (state != GameState.ACTIVE_GAME)
+            throw new IllegalStateException("The game is over");
+        String word = wordGuess.toLowerCase();
+        if (legalGuesses != null && !legalGuesses.isLegal(word)) // O(k)
+            throw new IllegalArgumentException("The word '" + wordGuess + "' does not fit the feedback so far");
+
+        WordleWord feedback = answer.makeGuess(word); // O(k^2)
+        apply(feedback);
+        return feedback;
+    }
+
+    /**
+     * Applies a guess that was made earlier, with its pattern code, without
+     * checking it against the answer again. Used to restore a stored game.
+     *
+     * @param guessId id of the guess in the dictionary
+     * @param code    pattern code of the feedback
+     */
+    synchronized void replay(int guessId, int code) { // O(m), or O(n * k) in hard mode
+        apply(FeedbackPattern.toWordleWord(dictionary.getWord(guessId), code)); // O(k)
+    }
+
+    private void apply(WordleWord feedback) { // O(m), or O(n * k) in hard mode
+        candidates.eliminateWords(feedback); // O(m)
+        if (legalGuesses != null)
+            legalGuesses.add(feedback); // O(n * k)
+        guesses.add(feedback.getWordString());
+        lastFeedback = feedback;
+        if (feedback.allMatch())
+            state = GameState.VICTORY;
+        else if (guesses.size() >= maxGuesses)
+            state = GameState.GAME_OVER;
+    }
+
+    /**
+     * @return the feedback of the last guess, or null if no guess has been
+     *         made
+     */
+    public synchronized WordleWord lastFeedback() {
+        return lastFeedback;
+    }
+
+    /**
+     * Gets a word that can still be the answer.
+     *
+     * @return a possible answer
+     */
+    public synchronized String hint() { // O(1) amortized
+        return dictionary.getAnswerWordsList().get(candidates.nextPossibleAnswer(0));
+    }
+
+    /**
+     * @return the number of answers that are still possible
+     */
+    public synchronized int remaining() {
+        return candidates.size();
+    }
+
+    /**
+     * @return the guesses made so far
+     */
+    public synchronized List<String> guesses() {
+        return List.copyOf(guesses);
+    }
+
+    public synchronized GameState state() {
+        return state;
+    }
+
+    /**
+     * @return the answer, or null while the game is still active
+     */
+    public synchronized String revealedAnswer() {
+        return state == GameState.ACTIVE_GAME ? null : answerWord;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public int maxGuesses() {
+        return maxGuesses;
+    }
+
+    public boolean isHardMode() {
+        return legalGuesses != null;
+    }
+
+    /**
+     * Writes feedback as one digit per letter, 0 for wrong, 1 for misplaced and
+     * 2 for correct, so "soare" against "cloud" is "01000".
+     *
+     * @param feedback
+     * @return the digits of the feedback
+     */
+    public static String digits(WordleWord feedback) { // O(k)
+        int code = FeedbackPattern.encode(feedback);
+        char[] digits = new char[feedback.getWordString().length()];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = (char) ('0' + code % 3);
+            code /= 3;
+        }
+        return new String(digits);
+    }
+}
@@ -0,0 +1,298 @@
+package no.uib.inf102.wordle.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+/**
+ * Load test of a WordleServer. First all sessions are created, so they are
+ * open on the server at the same time, and then every game is played to the
+ * end with the hints of the server: each turn asks for a hint and guesses it.
+ * The turns of all sessions are interleaved by a number of client threads, so
+ * each game is in the middle of being played until it ends.
+ * <br>
+ * </br>
+ * Usage:
+ *
+ * <pre>
+ * LoadTestClient [--url URL] [--sessions N] [--concurrency N]
+ *   --url URL          server to test, default a server started in this JVM
+ *   --sessions N       default 10000
+ *   --concurrency N    requests in flight at once, default 64
+ * </pre>
+ *
+ * The number of requests per second and the latency percentiles are printed at
+ * the end.
+ */
+public class LoadTestClient {
+
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\":\"?([^\",}]*)");
+
+    private final HttpClient client;
+    private final URI base;
+    private final int concurrency;
+
+    /**
+     * @param base        URI of the server, like http://localhost:8080
+     * @param concurrency number of requests in flight at once
+     */
+    public LoadTestClient(URI base, int concurrency) {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("Need at least one request in flight");
+        this.base = base;
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String url = null;
+        int sessionCount = 10_000;
+        int concurrency = 64;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--url":
+                    url = args[++i];
+                    break;
+                case "--sessions":
+                    sessionCount = Integer.parseInt(args[++i]);
+                    break;
+                case "--concurrency":
+                    concurrency = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: LoadTestClient [--url URL] [--sessions N] [--concurrency N]");
+            System.exit(2);
+            return;
+        }
+
+        WordleServer server = null;
+        if (url == null) {
+            server = new WordleServer(new SessionService(Dictionary.getDefault()), 0, 0);
+            server.start();
+            url = "http://localhost:" + server.getPort();
+        }
+        try {
+            Report report = new LoadTestClient(URI.create(url), concurrency).run(sessionCount);
+            System.out.println(report);
+        } finally {
+            if (server != null)
+                server.stop(0);
+        }
+    }
+
+    /**
+     * The outcome of a load test.
+     */
+    public static class Report {
+        public final int sessions;
+        public final int won;
+        public final int errors;
+        public final long elapsedNanos;
+
+        /**
+         * Latency of every request in nanoseconds, sorted.
+         */
+        private final long[] latencies;
+
+        Report(int sessions, int won, int errors, long elapsedNanos, long[] latencies) {
+            this.sessions = sessions;
+            this.won = won;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+            Arrays.sort(latencies);
+        }
+
+        public int requests() {
+            return latencies.length;
+        }
+
+        public double requestsPerSecond() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * @param p percentile between 0 and 100
+         * @return latency in nanoseconds at that percentile
+         */
+        public long percentile(double p) {
+            if (latencies.length == 0)
+                return 0;
+            int index = (int) Math.ceil(p / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d sessions, %d won, %d errors, %d requests in %.1f s (%.0f requests/s),"
+                            + " latency p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    sessions, won, errors, requests(), elapsedNanos / 1e9, requestsPerSecond(),
+                    percentile(50) / 1e6, percentile(99) / 1e6, percentile(100) / 1e6);
+        }
+    }
+
+    /**
+     * Creates <code>sessionCount</code> sessions and plays all of them.
+     *
+     * @param sessionCount
+     * @return the report
+     * @throws InterruptedException if interrupted while waiting for the client
+     *                              threads
+     */
+    public Report run(int sessionCount) throws InterruptedException {
+        ConcurrentLinkedQueue<String> active = new ConcurrentLinkedQueue<>();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService threads = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int t = 0; t < concurrency; t++) {
+                workers.add(threads.submit(() -> {
+                    Latencies latencies = new Latencies();
+                    while (created.getAndIncrement() < sessionCount) {
+                        String response = send(latencies, HttpRequest.newBuilder(base.resolve("/games"))
+                                .POST(HttpRequest.BodyPublishers.noBody()));
+                        if (response == null)
+                            errors.incrementAndGet();
+                        else
+                            active.add(field(response, "id"));
+                    }
+                    return latencies.toArray();
+                }));
+            }
+            long[] createLatencies = join(workers);
+            workers.clear();
+
+            for (int t = 0; t < concurrency; t++) {
+                workers.add(threads.submit(() -> {
+                    Latencies latencies = new Latencies();
+                    String id;
+                    while ((id = active.poll()) != null) {
+                        String state = playTurn(latencies, id);
+                        if (state == null)
+                            errors.incrementAndGet();
+                        else if (state.equals("ACTIVE_GAME"))
+                            active.add(id);
+                        else if (state.equals("VICTORY"))
+                            won.incrementAndGet();
+                    }
+                    return latencies.toArray();
+                }));
+            }
+            long[] playLatencies = join(workers);
+            long elapsed = System.nanoTime() - start;
+
+            long[] latencies = Arrays.copyOf(createLatencies, createLatencies.length + playLatencies.length);
+            System.arraycopy(playLatencies, 0, latencies, createLatencies.length, playLatencies.length);
+            return new Report(sessionCount, won.get(), errors.get(), elapsed, latencies);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Asks for a hint and guesses it.
+     *
+     * @return the state of the game after the guess, or null on an error
+     */
+    private String playTurn(Latencies latencies, String id) {
+        URI game = base.resolve("/games/" + id + "/");
+        String hint = send(latencies, HttpRequest.newBuilder(game.resolve("hint")).GET());
+        if (hint == null)
+            return null;
+        String guess = send(latencies, HttpRequest.newBuilder(game.resolve("guess"))
+                .POST(HttpRequest.BodyPublishers.ofString(field(hint, "hint"))));
+        return guess == null ? null : field(guess, "state");
+    }
+
+    /**
+     * Sends a request and records its latency.
+     *
+     * @return the body of the response, or null if it failed
+     */
+    private String send(Latencies latencies, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            latencies.add(System.nanoTime() - start);
+            return response.statusCode() / 100 == 2 ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static long[] join(List<Future<long[]>> workers) throws InterruptedException {
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            try {
+                long[] latencies = worker.get();
+                int from = all.length;
+                all = Arrays.copyOf(all, from + latencies.length);
+                System.arraycopy(latencies, 0, all, from, latencies.length);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Client thread failed", e.getCause());
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Finds a field of a flat JSON object.
+     *
+     * @return the value of the field without quotes, or null
+     */
+    static String field(String json, String name) {
+        Matcher matcher = FIELD.matcher(json);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(name))
+                return matcher.group(2);
+        }
+        return null;
+    }
+
+    /**
+     * A growing array of latencies.
+     */
+    private static class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, 2 * size);
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
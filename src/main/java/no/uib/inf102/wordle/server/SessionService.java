@@ -0,0 +1,164 @@
+package no.uib.inf102.wordle.server;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * Hosts many games at once. Every session shares one Dictionary, and only the
+ * answer, the guesses and their pattern codes of a game are kept, in a
+ * SessionStore. A GameSession is made from them for each request by replaying
+ * the guesses, so an idle session costs one record of the store and no
+ * objects or threads.
+ */
+public class SessionService {
+
+    /**
+     * Guesses allowed in a game unless another number is given.
+     */
+    public static final int DEFAULT_MAX_GUESSES = 6;
+
+    /**
+     * Games kept by the default store.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * A game of the default store is removed after an hour without requests.
+     */
+    public static final long DEFAULT_TTL_MILLIS = 60 * 60 * 1000;
+
+    /**
+     * Number of locks the sessions are spread over, so guesses in different
+     * sessions seldom wait for each other.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    private final Dictionary dictionary;
+    private final SessionStore store;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public SessionService(Dictionary dictionary) {
+        this(dictionary, DEFAULT_MAX_GUESSES);
+    }
+
+    /**
+     * @param dictionary
+     * @param maxGuesses a game is lost after this many guesses
+     */
+    public SessionService(Dictionary dictionary, int maxGuesses) {
+        this(dictionary, new SessionStore(DEFAULT_CAPACITY, maxGuesses, DEFAULT_TTL_MILLIS));
+    }
+
+    /**
+     * @param dictionary
+     * @param store      where the games are kept, which also decides the
+     *                   number of guesses in a game
+     */
+    public SessionService(Dictionary dictionary, SessionStore store) {
+        this.dictionary = dictionary;
+        this.store = store;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Starts a game with a random answer.
+     *
+     * @param hardMode if true, every guess must fit the feedback so far
+     * @return the new session
+     */
+    public GameSession create(boolean hardMode) { // O(m), or O(n) in hard mode
+        return create(ThreadLocalRandom.current(), hardMode);
+    }
+
+    /**
+     * Starts a game with an answer drawn from <code>random</code>.
+     *
+     * @param random
+     * @param hardMode if true, every guess must fit the feedback so far
+     * @return the new session
+     */
+    public GameSession create(Random random, boolean hardMode) { // O(m), or O(n) in hard mode
+        int answerId = dictionary.getAnswerId(random.nextInt(dictionary.answerCount()));
+        long id = store.create(answerId, hardMode); // O(1) amortized
+        return new GameSession(Long.toString(id, 36), dictionary, dictionary.getWord(answerId), store.maxGuesses(),
+                hardMode);
+    }
+
+    /**
+     * Restores a session from the store.
+     *
+     * @param id
+     * @return the session with that id
+     * @throws NoSuchElementException if there is no such session
+     */
+    public GameSession get(String id) { // O(g * m), or O(g * n * k) in hard mode
+        SessionStore.Record record = store.get(parse(id));
+        GameSession session = new GameSession(id, dictionary, dictionary.getWord(record.answerId),
+                store.maxGuesses(), record.hardMode);
+        for (int i = 0; i < record.guessIds.length; i++) {
+            session.replay(record.guessIds[i], record.codes[i]);
+        }
+        return session;
+    }
+
+    /**
+     * Makes a guess in a session and stores it.
+     *
+     * @param id
+     * @param wordGuess
+     * @return the session after the guess, with the feedback as
+     *         <code>lastFeedback()</code>
+     * @throws NoSuchElementException   if there is no such session
+     * @throws IllegalArgumentException if the word is not a legal guess
+     * @throws IllegalStateException    if the game is over
+     */
+    public GameSession guess(String id, String wordGuess) { // O(g * m), or O(g * n * k) in hard mode
+        long storeId = parse(id);
+        synchronized (locks[Long.hashCode(storeId) & (LOCK_STRIPES - 1)]) {
+            GameSession session = get(id);
+            WordleWord feedback = session.guess(wordGuess);
+            store.addGuess(storeId, dictionary.getId(feedback.getWordString()), FeedbackPattern.encode(feedback));
+            return session;
+        }
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param id
+     * @return true if there was a session with that id
+     */
+    public boolean remove(String id) {
+        try {
+            return store.remove(parse(id));
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
+    private static long parse(String id) {
+        try {
+            return Long.parseLong(id, 36);
+        } catch (NumberFormatException e) {
+            throw new NoSuchElementException("No session " + id);
+        }
+    }
+
+    /**
+     * @return the number of sessions
+     */
+    public int size() {
+        return store.size();
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+}
@@ -0,0 +1,390 @@
+package no.uib.inf102.wordle.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
+
+/**
+ * The state of many games in fixed size records of one ByteBuffer. A game is
+ * stored as the id of its answer, the ids of its guesses and the pattern code
+ * of each guess, which is all that is needed to play it further. With 6
+ * guesses a record is 64 bytes, so a million games take 64 MB and no objects.
+ * <br>
+ * </br>
+ * The records are kept in least recently used order by links inside the
+ * records. A game that has not been used for the time to live is removed, and
+ * when the store is full the least recently used game is removed to make room
+ * for a new one. Both are checked when a game is created or looked up, and
+ * only at the old end of the order, so it costs O(1) amortized.
+ * <br>
+ * </br>
+ * The buffer is either on the heap, where it grows as needed, or a memory
+ * mapped file of the full capacity. With a file the operating system can page
+ * idle games out to disk, so the number of games is not limited by the heap.
+ * The file is scratch space and is overwritten when the store is made.
+ * <br>
+ * </br>
+ * A game is known by a long id with the record index in the low 32 bits and a
+ * generation in the high 32 bits. The generation of a record is increased
+ * every time it is reused, so the id of a removed game is not mistaken for a
+ * newer game in the same record.
+ */
+public class SessionStore {
+
+    private static final int GENERATION = 0;
+    private static final int ANSWER = 4;
+    private static final int LAST_ACCESS = 8;
+    private static final int PREVIOUS = 16;
+    private static final int NEXT = 20;
+    private static final int GUESS_COUNT = 24;
+    private static final int FLAGS = 25;
+    private static final int GUESSES = 28;
+
+    private static final int LIVE = 1;
+    private static final int HARD = 2;
+
+    private static final int NONE = -1;
+    private static final int INITIAL_RECORDS = 1024;
+
+    private final int capacity;
+    private final int maxGuesses;
+    private final int recordSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final boolean mapped;
+
+    private ByteBuffer records;
+
+    /**
+     * Records in use, from least to most recently used.
+     */
+    private int oldest = NONE;
+    private int newest = NONE;
+
+    /**
+     * Removed records, linked by NEXT.
+     */
+    private int free = NONE;
+
+    /**
+     * Records from here to the end of the buffer have never been used.
+     */
+    private int unused;
+    private int size;
+
+    /**
+     * Creates a store on the heap.
+     *
+     * @param capacity   the most games kept at once
+     * @param maxGuesses the most guesses of a game
+     * @param ttlMillis  a game not used for this many milliseconds is removed
+     */
+    public SessionStore(int capacity, int maxGuesses, long ttlMillis) {
+        this(capacity, maxGuesses, ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a store on the heap.
+     *
+     * @param capacity   the most games kept at once
+     * @param maxGuesses the most guesses of a game
+     * @param ttlMillis  a game not used for this many milliseconds is removed
+     * @param clock      current time in milliseconds
+     */
+    public SessionStore(int capacity, int maxGuesses, long ttlMillis, LongSupplier clock) {
+        this(capacity, maxGuesses, ttlMillis, clock, null);
+    }
+
+    private SessionStore(int capacity, int maxGuesses, long ttlMillis, LongSupplier clock, ByteBuffer mapped) {
+        checkSize(capacity, maxGuesses, ttlMillis);
+        this.capacity = capacity;
+        this.maxGuesses = maxGuesses;
+        this.recordSize = recordSize(maxGuesses);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.mapped = mapped != null;
+        this.records = mapped != null ? mapped
+                : ByteBuffer.allocate(Math.min(capacity, INITIAL_RECORDS) * recordSize);
+    }
+
+    /**
+     * Creates a store in a memory mapped file, which is made or overwritten.
+     *
+     * @param capacity   the most games kept at once
+     * @param maxGuesses the most guesses of a game
+     * @param ttlMillis  a game not used for this many milliseconds is removed
+     * @param spillFile  file to map the records to
+     * @param clock      current time in milliseconds
+     * @return the store
+     * @throws IOException if the file could not be mapped
+     */
+    public static SessionStore mapped(int capacity, int maxGuesses, long ttlMillis, Path spillFile,
+            LongSupplier clock) throws IOException {
+        checkSize(capacity, maxGuesses, ttlMillis);
+        try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer records = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) capacity * recordSize(maxGuesses));
+            return new SessionStore(capacity, maxGuesses, ttlMillis, clock, records);
+        }
+    }
+
+    private static void checkSize(int capacity, int maxGuesses, long ttlMillis) {
+        if (capacity < 1 || maxGuesses < 1 || maxGuesses > Byte.MAX_VALUE || ttlMillis <= 0)
+            throw new IllegalArgumentException("Need a capacity, 1 to 127 guesses and a positive time to live");
+        if ((long) capacity * recordSize(maxGuesses) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(capacity + " records of " + recordSize(maxGuesses)
+                    + " bytes do not fit in a buffer");
+    }
+
+    /**
+     * Gets the size of one record: a header, an int per guess id and a char
+     * per pattern code, rounded up to 8 bytes.
+     *
+     * @param maxGuesses
+     * @return bytes per game
+     */
+    public static int recordSize(int maxGuesses) {
+        int size = GUESSES + maxGuesses * (Integer.BYTES + Character.BYTES);
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * Stores a new game with no guesses. If the store is full the least
+     * recently used game is removed first.
+     *
+     * @param answerId id of the answer in the dictionary
+     * @param hardMode
+     * @return id of the game
+     */
+    public synchronized long create(int answerId, boolean hardMode) { // O(1) amortized
+        long now = clock.getAsLong();
+        expire(now);
+        if (size == capacity)
+            release(oldest);
+
+        int record = allocate();
+        int offset = record * recordSize;
+        int generation = records.getInt(offset + GENERATION) + 1;
+        records.putInt(offset + GENERATION, generation);
+        records.putInt(offset + ANSWER, answerId);
+        records.putLong(offset + LAST_ACCESS, now);
+        records.put(offset + GUESS_COUNT, (byte) 0);
+        records.put(offset + FLAGS, (byte) (LIVE | (hardMode ? HARD : 0)));
+        linkNewest(record);
+        size++;
+        return ((long) generation << 32) | record;
+    }
+
+    /**
+     * Takes a removed record, or a record that was never used, growing the
+     * heap buffer if needed.
+     */
+    private int allocate() { // O(1) amortized
+        if (free != NONE) {
+            int record = free;
+            free = records.getInt(record * recordSize + NEXT);
+            return record;
+        }
+        if ((unused + 1) * recordSize > records.capacity()) {
+            int grown = (int) Math.min(capacity, 2L * records.capacity() / recordSize);
+            records = ByteBuffer.allocate(grown * recordSize).put(records.rewind());
+        }
+        return unused++;
+    }
+
+    /**
+     * Looks up a game and marks it as used now.
+     *
+     * @return the offset of the record of the game
+     * @throws NoSuchElementException if there is no such game
+     */
+    private int touch(long id) { // O(1) amortized
+        long now = clock.getAsLong();
+        expire(now);
+        int offset = offset(id);
+        records.putLong(offset + LAST_ACCESS, now);
+        int record = (int) id;
+        if (record != newest) {
+            detach(record);
+            linkNewest(record);
+        }
+        return offset;
+    }
+
+    private int offset(long id) {
+        int record = (int) id;
+        if (record < 0 || record >= unused)
+            throw new NoSuchElementException("No session " + id);
+        int offset = record * recordSize;
+        if ((records.get(offset + FLAGS) & LIVE) == 0 || records.getInt(offset + GENERATION) != (int) (id >>> 32))
+            throw new NoSuchElementException("No session " + id);
+        return offset;
+    }
+
+    /**
+     * Removes the games at the old end that have not been used for the time to
+     * live.
+     */
+    private void expire(long now) { // O(1) amortized
+        while (oldest != NONE && now - records.getLong(oldest * recordSize + LAST_ACCESS) >= ttlMillis)
+            release(oldest);
+    }
+
+    private void linkNewest(int record) {
+        int offset = record * recordSize;
+        records.putInt(offset + PREVIOUS, newest);
+        records.putInt(offset + NEXT, NONE);
+        if (newest == NONE)
+            oldest = record;
+        else
+            records.putInt(newest * recordSize + NEXT, record);
+        newest = record;
+    }
+
+    /**
+     * Takes a record out of the order.
+     */
+    private void detach(int record) {
+        int offset = record * recordSize;
+        int previous = records.getInt(offset + PREVIOUS);
+        int next = records.getInt(offset + NEXT);
+        if (previous == NONE)
+            oldest = next;
+        else
+            records.putInt(previous * recordSize + NEXT, next);
+        if (next == NONE)
+            newest = previous;
+        else
+            records.putInt(next * recordSize + PREVIOUS, previous);
+    }
+
+    /**
+     * Removes the game of a record and puts the record on the free list.
+     */
+    private void release(int record) {
+        detach(record);
+        int offset = record * recordSize;
+        records.put(offset + FLAGS, (byte) 0);
+        records.putInt(offset + NEXT, free);
+        free = record;
+        size--;
+    }
+
+    /**
+     * Removes a game.
+     *
+     * @param id
+     * @return true if there was such a game
+     */
+    public synchronized boolean remove(long id) { // O(1)
+        try {
+            offset(id);
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+        release((int) id);
+        return true;
+    }
+
+    /**
+     * @param id
+     * @return true if the game is stored
+     */
+    public synchronized boolean contains(long id) { // O(1) amortized
+        expire(clock.getAsLong());
+        try {
+            offset(id);
+            return true;
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Adds a guess to a game.
+     *
+     * @param id
+     * @param guessId id of the guess in the dictionary
+     * @param code    pattern code of the feedback
+     * @throws NoSuchElementException if there is no such game
+     * @throws IllegalStateException  if the game has the most guesses already
+     */
+    public synchronized void addGuess(long id, int guessId, int code) { // O(1) amortized
+        int offset = touch(id);
+        int count = records.get(offset + GUESS_COUNT);
+        if (count == maxGuesses)
+            throw new IllegalStateException("The game has " + maxGuesses + " guesses already");
+        records.putInt(offset + GUESSES + count * Integer.BYTES, guessId);
+        records.putChar(offset + GUESSES + maxGuesses * Integer.BYTES + count * Character.BYTES, (char) code);
+        records.put(offset + GUESS_COUNT, (byte) (count + 1));
+    }
+
+    /**
+     * Reads a game and marks it as used now.
+     *
+     * @param id
+     * @return the state of the game
+     * @throws NoSuchElementException if there is no such game
+     */
+    public synchronized Record get(long id) { // O(g)
+        int offset = touch(id);
+        int count = records.get(offset + GUESS_COUNT);
+        int[] guessIds = new int[count];
+        int[] codes = new int[count];
+        for (int i = 0; i < count; i++) {
+            guessIds[i] = records.getInt(offset + GUESSES + i * Integer.BYTES);
+            codes[i] = records.getChar(offset + GUESSES + maxGuesses * Integer.BYTES + i * Character.BYTES);
+        }
+        return new Record(records.getInt(offset + ANSWER), (records.get(offset + FLAGS) & HARD) != 0, guessIds,
+                codes);
+    }
+
+    /**
+     * The state of a game as read from the store.
+     */
+    public static class Record {
+        public final int answerId;
+        public final boolean hardMode;
+        public final int[] guessIds;
+        public final int[] codes;
+
+        Record(int answerId, boolean hardMode, int[] guessIds, int[] codes) {
+            this.answerId = answerId;
+            this.hardMode = hardMode;
+            this.guessIds = guessIds;
+            this.codes = codes;
+        }
+    }
+
+    /**
+     * @return the number of games stored
+     */
+    public synchronized int size() { // O(1) amortized
+        expire(clock.getAsLong());
+        return size;
+    }
+
+    /**
+     * @return the bytes of the buffer, on the heap or in the file
+     */
+    public synchronized long bytes() {
+        return records.capacity();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int maxGuesses() {
+        return maxGuesses;
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+}
@@ -0,0 +1,284 @@
+package no.uib.inf102.wordle.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * A local HTTP endpoint for the SessionService. Every response is a JSON
+ * object.
+ *
+ * <pre>
+ * POST   /games[?hard=true]      start a game: id, wordLength, maxGuesses
+ * GET    /games/{id}             state, guesses, remaining and, when the
+ *                                game is over, answer
+ * POST   /games/{id}/guess       the body is the word: guess, feedback,
+ *                                state, guessCount, remaining
+ * GET    /games/{id}/hint        hint, a word that can be the answer, and
+ *                                remaining
+ * DELETE /games/{id}             end the session
+ * </pre>
+ *
+ * Feedback is one digit per letter as written by
+ * <code>GameSession::digits</code>. Errors have status 400 for a word that is
+ * not a legal guess, 404 for an unknown session, 405 for a wrong method and
+ * 409 for a guess in a game that is over, with the message in "error".
+ * <br>
+ * </br>
+ * Requests are handled on virtual threads when the JVM has them (Java 21 and
+ * later), and otherwise on a fixed pool of platform threads. Sessions do not
+ * hold a thread between requests either way, so the number of sessions is
+ * only limited by memory.
+ * <br>
+ * </br>
+ * Usage:
+ *
+ * <pre>
+ * WordleServer [options]
+ *   --port N           default 8080
+ *   --threads N        use a pool of N platform threads
+ *   --max-guesses N    default 6
+ *   --capacity N       most games kept at once, default 1048576
+ *   --ttl SECONDS      games idle this long are removed, default 3600
+ *   --spill FILE       keep the games in a memory mapped file
+ * </pre>
+ */
+public class WordleServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    static {
+        // Without TCP_NODELAY each small response waits for the delayed ACK of
+        // the client, about 40 ms, since headers and body are written apart
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final SessionService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server listening on <code>port</code>. It does not take
+     * requests until it is started.
+     *
+     * @param service
+     * @param port     port to listen on, 0 for any free port
+     * @param nThreads number of platform threads, or 0 to use virtual threads
+     *                 when the JVM has them
+     * @throws IOException if the port could not be opened
+     */
+    public WordleServer(SessionService service, int port, int nThreads) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = nThreads > 0 ? Executors.newFixedThreadPool(nThreads) : newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/games", this::handle);
+    }
+
+    /**
+     * Makes an executor with one virtual thread per request if the JVM has
+     * them, and otherwise a pool with two platform threads per processor.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int nThreads = 0;
+        int maxGuesses = SessionService.DEFAULT_MAX_GUESSES;
+        int capacity = SessionService.DEFAULT_CAPACITY;
+        long ttlMillis = SessionService.DEFAULT_TTL_MILLIS;
+        Path spillFile = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    nThreads = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-guesses":
+                    maxGuesses = Integer.parseInt(args[++i]);
+                    break;
+                case "--capacity":
+                    capacity = Integer.parseInt(args[++i]);
+                    break;
+                case "--ttl":
+                    ttlMillis = Long.parseLong(args[++i]) * 1000;
+                    break;
+                case "--spill":
+                    spillFile = Path.of(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: WordleServer [--port N] [--threads N] [--max-guesses N] [--capacity N]"
+                    + " [--ttl SECONDS] [--spill FILE]");
+            System.exit(2);
+            return;
+        }
+
+        SessionStore store = spillFile == null ? new SessionStore(capacity, maxGuesses, ttlMillis)
+                : SessionStore.mapped(capacity, maxGuesses, ttlMillis, spillFile, System::currentTimeMillis);
+        WordleServer server = new WordleServer(new SessionService(Dictionary.getDefault(), store), port, nThreads);
+        server.start();
+        System.err.println("Listening on port " + server.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops taking requests and waits up to <code>delaySeconds</code> for the
+     * requests being handled.
+     *
+     * @param delaySeconds
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // path is "", "games", then the id and the action if any
+            try {
+                if (path.length == 2 && method.equals("POST")) {
+                    boolean hardMode = "hard=true".equals(exchange.getRequestURI().getQuery());
+                    GameSession session = service.create(hardMode);
+                    send(exchange, 201, "{\"id\":" + quote(session.id()) + ",\"wordLength\":"
+                            + service.getDictionary().WORD_LENGTH + ",\"maxGuesses\":" + session.maxGuesses()
+                            + ",\"hard\":" + hardMode + "}");
+                } else if (path.length == 3) {
+                    handleSession(exchange, method, path[2]);
+                } else if (path.length == 4 && path[3].equals("guess")) {
+                    requireMethod(method, "POST");
+                    handleGuess(exchange, path[2]);
+                } else if (path.length == 4 && path[3].equals("hint")) {
+                    requireMethod(method, "GET");
+                    GameSession session = service.get(path[2]);
+                    send(exchange, 200, "{\"hint\":" + quote(session.hint()) + ",\"remaining\":"
+                            + session.remaining() + "}");
+                } else {
+                    throw new NoSuchElementException("No such resource " + exchange.getRequestURI().getPath());
+                }
+            } catch (NoSuchElementException e) {
+                sendError(exchange, 404, e.getMessage());
+            } catch (UnsupportedOperationException e) {
+                sendError(exchange, 405, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (IllegalStateException e) {
+                sendError(exchange, 409, e.getMessage());
+            }
+        }
+    }
+
+    private void handleSession(HttpExchange exchange, String method, String id) throws IOException {
+        if (method.equals("DELETE")) {
+            if (!service.remove(id))
+                throw new NoSuchElementException("No session " + id);
+            exchange.sendResponseHeaders(204, -1);
+            return;
+        }
+        requireMethod(method, "GET");
+        GameSession session = service.get(id);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"id\":").append(quote(session.id()));
+        json.append(",\"state\":").append(quote(session.state().name()));
+        json.append(",\"guesses\":[");
+        List<String> guesses = session.guesses();
+        for (int i = 0; i < guesses.size(); i++) {
+            json.append(i == 0 ? "" : ",").append(quote(guesses.get(i)));
+        }
+        json.append("],\"remaining\":").append(session.remaining());
+        String answer = session.revealedAnswer();
+        if (answer != null)
+            json.append(",\"answer\":").append(quote(answer));
+        send(exchange, 200, json.append('}').toString());
+    }
+
+    private void handleGuess(HttpExchange exchange, String id) throws IOException {
+        String word;
+        try (InputStream body = exchange.getRequestBody()) {
+            word = new String(body.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        GameSession session = service.guess(id, word);
+        WordleWord feedback = session.lastFeedback();
+        StringBuilder json = new StringBuilder();
+        json.append("{\"guess\":").append(quote(feedback.getWordString()));
+        json.append(",\"feedback\":").append(quote(GameSession.digits(feedback)));
+        json.append(",\"state\":").append(quote(session.state().name()));
+        json.append(",\"guessCount\":").append(session.guesses().size());
+        json.append(",\"remaining\":").append(session.remaining());
+        String answer = session.revealedAnswer();
+        if (answer != null)
+            json.append(",\"answer\":").append(quote(answer));
+        send(exchange, 200, json.append('}').toString());
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected))
+            throw new UnsupportedOperationException("Expected " + expected + ", got " + method);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":" + quote(String.valueOf(message)) + "}");
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static String quote(String s) {
+        StringBuilder quoted = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\')
+                quoted.append('\\').append(c);
+            else if (c < 0x20)
+                quoted.append(String.format("\\u%04x", (int) c));
+            else
+                quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -2,6 +2,7 @@ package no.uib.inf102.wordle.view.gameSelect;
 
 import no.uib.inf102.wordle.controller.WordleAIController;
 import no.uib.inf102.wordle.controller.WordleHumanController;
+import no.uib.inf102.wordle.model.Dictionary;
 import no.uib.inf102.wordle.model.WordleBoard;
 import no.uib.inf102.wordle.model.WordleModel;
 import no.uib.inf102.wordle.view.gameView.WordleView;
@@ -18,16 +19,17 @@ public class WordleGame {
      * @param humanController whether to have a human controller (true) or an ai controller (false).
      */
     public WordleGame(boolean humanController) {
-        WordleBoard board = new WordleBoard(8, 5);
+        Dictionary dictionary = Dictionary.getDefault();
+        WordleBoard board = new WordleBoard(8, dictionary.WORD_LENGTH);
         WordleModel model;
         WordleView view;
 
         if (humanController) {
-            model = new WordleModel(board);
+            model = new WordleModel(board, dictionary);
             view = new WordleView(model);
             new WordleHumanController(model, view);
         } else {
-            model = new WordleModel(board);
+            model = new WordleModel(board, dictionary);
             view = new WordleView(model);
             new WordleAIController(model, view);
         }
@@ -0,0 +1,67 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AIPerformanceTest {
+
+	@Test
+	public void parallelRunEqualsSerialRun() {
+		AIStatistics serial = AIPerformance.runWordleGames(new FrequencyStrategy(AIPerformance.dictionary));
+		AIStatistics parallel = AIPerformance.runWordleGames(() -> new FrequencyStrategy(AIPerformance.dictionary),
+				AIPerformance.N_GAMES, 4);
+
+		assertEquals(serial.getStrategyName(), parallel.getStrategyName());
+		assertEquals(serial.getNumGames(), parallel.getNumGames());
+		assertEquals(serial.getTotalGuesses(), parallel.getTotalGuesses());
+		assertEquals(serial.getWins(), parallel.getWins());
+		assertEquals(serial.getFailures(), parallel.getFailures());
+		assertEquals(serial.getMaxGuesses(), parallel.getMaxGuesses());
+		assertEquals(serial.getDistribution(), parallel.getDistribution());
+	}
+
+	@Test
+	public void moreThreadsThanGames() {
+		AIStatistics stats = AIPerformance.runWordleGames(() -> new FrequencyStrategy(AIPerformance.dictionary), 3,
+				8);
+		assertEquals(3, stats.getNumGames());
+	}
+
+	@Test
+	public void everyGuessIsTimed() {
+		AIStatistics stats = AIPerformance.runWordleGames(() -> new FrequencyStrategy(AIPerformance.dictionary), 20,
+				2);
+		assertEquals(stats.getTotalGuesses(), stats.getGuessLatency().getCount());
+		assertEquals(stats.getMaxGuesses(), stats.getTurnCount());
+		long firstGuesses = stats.getTurnLatency(1).getCount();
+		assertEquals(20, firstGuesses);
+		assertTrue(stats.getGuessLatency().percentile(50) <= stats.getGuessLatency().getMax());
+	}
+
+	@Test
+	public void latencyIsWrittenAsCsv() throws IOException {
+		AIStatistics stats = new AIStatistics("Test");
+		stats.recordGuess(1, 1000);
+		stats.recordGuess(2, 2000);
+		stats.recordGuess(1, 3000);
+		stats.addGame(2);
+		stats.addAllocation(4096);
+
+		StringWriter out = new StringWriter();
+		AIStatistics.writeCsv(List.of(stats), out);
+		String[] lines = out.toString().split("\n");
+		assertEquals(AIStatistics.CSV_HEADER, lines[0]);
+		assertEquals(4, lines.length);
+		assertTrue(lines[1].startsWith("Test,1,2,"), lines[1]);
+		assertTrue(lines[2].startsWith("Test,2,1,"), lines[2]);
+		assertTrue(lines[3].startsWith("Test,all,3,"), lines[3]);
+		assertTrue(lines[3].contains(",4096,"), lines[3]);
+	}
+
+}
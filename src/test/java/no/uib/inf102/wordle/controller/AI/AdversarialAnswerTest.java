@@ -0,0 +1,58 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class AdversarialAnswerTest {
+
+	private Dictionary dictionary = Dictionary.getDefault();
+
+	@Test
+	public void keepsLargestBucket() {
+		AdversarialAnswer host = new AdversarialAnswer(dictionary);
+		List<String> before = host.candidates();
+		WordleWord feedback = host.makeGuess("soare");
+
+		PartitionStatistics partition = new PartitionStatistics(dictionary.WORD_LENGTH, before.size());
+		partition.partition("soare", before);
+		assertEquals(partition.maxBucket(), host.candidateCount());
+		int code = FeedbackPattern.encode(feedback);
+		assertEquals(partition.maxBucket(), partition.bucketSize(code));
+		for (String candidate : host.candidates()) {
+			assertEquals(code, FeedbackPattern.match("soare", candidate));
+		}
+	}
+
+	@Test
+	public void onlyLosesWhenOneAnswerIsLeft() {
+		Dictionary small = new Dictionary(List.of("aaaa", "bbbb", "abcd"), List.of("aaaa", "bbbb"));
+		AdversarialAnswer host = new AdversarialAnswer(small);
+		assertFalse(host.makeGuess("aaaa").allMatch());
+		assertEquals(List.of("bbbb"), host.candidates());
+		assertTrue(host.makeGuess("bbbb").allMatch());
+	}
+
+	@Test
+	public void strategyEventuallyWins() {
+		AdversarialAnswer host = new AdversarialAnswer(dictionary);
+		int guesses = AIPerformance.runWordleGame(new EntropyStrategy(dictionary), host);
+		assertTrue(guesses >= 4, "no strategy beats the adversary in less than 4 guesses");
+		assertEquals(1, host.candidateCount());
+	}
+
+	@Test
+	public void illegalGuessIsRejected() {
+		AdversarialAnswer host = new AdversarialAnswer(dictionary);
+		assertThrows(IllegalArgumentException.class, () -> host.makeGuess("xxxxx"));
+	}
+}
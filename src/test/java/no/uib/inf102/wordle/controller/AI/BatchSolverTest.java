@@ -0,0 +1,176 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+public class BatchSolverTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void jsonLinesInAnswerOrder() throws IOException {
+        List<String> answers = dictionary.getAnswerWordsList().subList(0, 40);
+        BatchSolver solver = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.JSON, 4, AIPerformance.MAX_N_GUESSES);
+        StringWriter out = new StringWriter();
+        AIStatistics stats = solver.solve(answers, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(answers.size(), lines.length);
+        assertEquals(answers.size(), stats.getNumGames());
+        int totalGuesses = 0;
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("{\"answer\":\"" + answers.get(i) + "\",\"solved\":true,"), lines[i]);
+            assertTrue(lines[i].contains(",\"remaining\":["), lines[i]);
+            assertTrue(lines[i].endsWith("}"), lines[i]);
+            totalGuesses += lines[i].split("\"guesses\":\\[")[1].split("]")[0].split(",").length;
+        }
+        assertEquals(stats.getTotalGuesses(), totalGuesses);
+    }
+
+    @Test
+    public void csvWithLostGame() throws IOException {
+        BatchSolver solver = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.CSV, 1, 1);
+        StringWriter out = new StringWriter();
+        AIStatistics stats = solver.solve(List.of("cloud"), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("answer,solved,guesses,remaining,micros", lines[0]);
+        String[] fields = lines[1].split(",");
+        assertEquals("cloud", fields[0]);
+        assertEquals("false", fields[1]);
+        assertEquals(1, fields[2].split(" ").length);
+        assertTrue(Integer.parseInt(fields[3]) > 1);
+        assertEquals(1, stats.getFailures());
+    }
+
+    @Test
+    public void readAnswersChecksDictionary() throws IOException {
+        Path file = folder.resolve("answers.txt");
+        Files.write(file, List.of("Cigar", "", " cloud "));
+        assertEquals(List.of("cigar", "cloud"), BatchSolver.readAnswers(file, dictionary));
+
+        Files.write(file, List.of("cigar", "xxxxx"));
+        assertThrows(IllegalArgumentException.class, () -> BatchSolver.readAnswers(file, dictionary));
+    }
+
+    @Test
+    public void checkpointResumesWhereItStopped() throws IOException {
+        List<String> answers = dictionary.getAnswerWordsList().subList(0, 30);
+        Path checkpoint = folder.resolve("sweep.jsonl");
+        BatchSolver solver = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.JSON, 2, AIPerformance.MAX_N_GUESSES);
+
+        AIStatistics first = solver.solve(answers.subList(0, 10), checkpoint);
+        assertEquals(10, first.getNumGames());
+        // A run that was killed in the middle of a line
+        Files.writeString(checkpoint, "{\"answer\":\"" + answers.get(10) + "\",\"sol", StandardOpenOption.APPEND);
+
+        AIStatistics all = solver.solve(answers, checkpoint);
+        List<String> lines = Files.readAllLines(checkpoint);
+        assertEquals(answers.size() + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"strategy\":\"FrequencyStrategy\",\"book\":false,"), lines.get(0));
+        for (int i = 1; i < lines.size(); i++) {
+            assertTrue(lines.get(i).startsWith("{\"answer\":\"" + answers.get(i - 1) + "\","), lines.get(i));
+        }
+        assertEquals(answers.size(), all.getNumGames());
+        assertEquals(answers.size() - 10, all.getTurnLatency(1).getCount());
+
+        StringWriter out = new StringWriter();
+        AIStatistics fresh = solver.solve(answers, out);
+        assertEquals(fresh.getTotalGuesses(), all.getTotalGuesses());
+        assertEquals(fresh.getDistribution(), all.getDistribution());
+
+        // Nothing is left to play
+        AIStatistics again = solver.solve(answers, checkpoint);
+        assertEquals(answers.size() + 1, Files.readAllLines(checkpoint).size());
+        assertEquals(0, again.getGuessLatency().getCount());
+        assertEquals(all.getTotalGuesses(), again.getTotalGuesses());
+    }
+
+    @Test
+    public void csvCheckpointHasOneHeader() throws IOException {
+        Path checkpoint = folder.resolve("sweep.csv");
+        BatchSolver solver = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.CSV, 1, 1);
+        solver.solve(List.of("cloud"), checkpoint);
+        AIStatistics stats = solver.solve(List.of("cloud", "cigar"), checkpoint);
+
+        List<String> lines = Files.readAllLines(checkpoint);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("# strategy=FrequencyStrategy,book=false,"), lines.get(0));
+        assertEquals("answer,solved,guesses,remaining,micros", lines.get(1));
+        assertTrue(lines.get(2).startsWith("cloud,false,"));
+        assertTrue(lines.get(3).startsWith("cigar,"));
+        assertEquals(2, stats.getNumGames());
+    }
+
+    @Test
+    public void checkpointMustHaveSameFormat() throws IOException {
+        Path checkpoint = folder.resolve("sweep.jsonl");
+        new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary), BatchSolver.Format.JSON, 1, 6)
+                .solve(List.of("cloud"), checkpoint);
+        BatchSolver csv = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.CSV, 1, 6);
+        assertThrows(IllegalArgumentException.class, () -> csv.solve(List.of("cloud"), checkpoint));
+    }
+
+    @Test
+    public void checkpointMustHaveSameRun() throws IOException {
+        Path checkpoint = folder.resolve("sweep.jsonl");
+        new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary), BatchSolver.Format.JSON, 1, 6)
+                .solve(List.of("cloud"), checkpoint);
+        BatchSolver otherStrategy = new BatchSolver(dictionary, () -> new EliminateStrategy(dictionary),
+                BatchSolver.Format.JSON, 1, 6);
+        assertThrows(IllegalArgumentException.class, () -> otherStrategy.solve(List.of("cloud"), checkpoint));
+        BatchSolver otherMaxGuesses = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.JSON, 1, 7);
+        assertThrows(IllegalArgumentException.class, () -> otherMaxGuesses.solve(List.of("cloud"), checkpoint));
+        assertEquals(2, Files.readAllLines(checkpoint).size());
+    }
+
+    @Test
+    public void checkpointOnlyCountsGivenAnswers() throws IOException {
+        List<String> answers = dictionary.getAnswerWordsList().subList(0, 10);
+        Path checkpoint = folder.resolve("sweep.jsonl");
+        BatchSolver solver = new BatchSolver(dictionary, () -> new FrequencyStrategy(dictionary),
+                BatchSolver.Format.JSON, 2, AIPerformance.MAX_N_GUESSES);
+        solver.solve(answers, checkpoint);
+
+        AIStatistics subset = solver.solve(answers.subList(0, 4), checkpoint);
+        assertEquals(4, subset.getNumGames());
+        assertEquals(answers.size() + 1, Files.readAllLines(checkpoint).size());
+    }
+
+    @Test
+    public void answerOutsideAnswerListIsLost() throws IOException {
+        String guessOnly = null;
+        for (String word : dictionary.getGuessWordsList()) {
+            if (!dictionary.isLegalAnswer(word)) {
+                guessOnly = word;
+                break;
+            }
+        }
+        BatchSolver solver = new BatchSolver(dictionary, () -> new EntropyStrategy(dictionary),
+                BatchSolver.Format.JSON, 1, AIPerformance.MAX_N_GUESSES);
+        AIStatistics stats = solver.solve(List.of(guessOnly), new StringWriter());
+        assertEquals(1, stats.getFailures());
+    }
+}
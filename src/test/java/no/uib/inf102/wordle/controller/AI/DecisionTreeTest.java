@@ -0,0 +1,86 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class DecisionTreeTest {
+
+    private static Dictionary dictionary = Dictionary.getDefault();
+    private static DecisionTree tree;
+
+    @TempDir
+    Path folder;
+
+    @BeforeAll
+    public static void buildTree() {
+        tree = new DecisionTreeBuilder(dictionary, () -> new FrequencyStrategy(dictionary)).build();
+    }
+
+    @Test
+    public void playsLikeTheStrategy() {
+        DecisionTreeStrategy treeAI = new DecisionTreeStrategy(dictionary, tree);
+        FrequencyStrategy frequencyAI = new FrequencyStrategy(dictionary);
+        for (String word : dictionary.getAnswerWordsList()) {
+            treeAI.reset();
+            frequencyAI.reset();
+            WordleAnswer answer = new WordleAnswer(word, dictionary);
+            WordleWord feedback = null;
+            for (int i = 0; i < DecisionTreeBuilder.MAX_DEPTH; i++) {
+                String guess = treeAI.makeGuess(feedback);
+                assertEquals(frequencyAI.makeGuess(feedback), guess, "Guess " + (i + 1) + " for " + word);
+                feedback = answer.makeGuess(guess);
+                if (feedback.allMatch())
+                    break;
+            }
+            assertTrue(feedback.allMatch(), "Did not find " + word);
+        }
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        Path file = folder.resolve("frequency.tree");
+        tree.write(file);
+        DecisionTree read = DecisionTree.read(file, dictionary);
+        assertEquals(tree.size(), read.size());
+        for (int node = 0; node < tree.size(); node++) {
+            assertEquals(tree.guessId(node), read.guessId(node));
+            for (int code = 0; code < 243; code++) {
+                assertEquals(tree.child(node, code), read.child(node, code));
+            }
+        }
+    }
+
+    @Test
+    public void readRejectsOtherDictionary() throws IOException {
+        Path file = folder.resolve("frequency.tree");
+        tree.write(file);
+        Dictionary other = new Dictionary(List.of("arise", "cloud"), List.of("cloud"));
+        assertThrows(IOException.class, () -> DecisionTree.read(file, other));
+        assertThrows(IllegalArgumentException.class, () -> new DecisionTreeStrategy(other, tree));
+    }
+
+    @Test
+    public void unknownFeedbackThrows() {
+        DecisionTreeStrategy ai = new DecisionTreeStrategy(dictionary, tree);
+        String first = ai.makeGuess(null);
+        int code = 0;
+        while (tree.child(tree.root(), code) >= 0)
+            code++;
+        WordleWord impossible = FeedbackPattern.toWordleWord(first, code);
+        assertThrows(IllegalStateException.class, () -> ai.makeGuess(impossible));
+    }
+}
@@ -0,0 +1,95 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.LegalGuessList;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class EntropyStrategyTest {
+
+	private Dictionary dictionary = Dictionary.getDefault();
+
+	@Test
+	public void firstGuessSplitsAnswersBest() {
+		// "soare" is the guess with the highest entropy over the answer list
+		EntropyStrategy ai = new EntropyStrategy(dictionary);
+		assertEquals("soare", ai.makeGuess(null));
+	}
+
+	@Test
+	public void prefersGuessThatSeparatesAllAnswers() {
+		// Only "abcd" tells the three answers apart
+		Dictionary small = new Dictionary(List.of("aaaa", "abcd", "bbbb", "cccc", "dddd"),
+				List.of("bbbb", "cccc", "dddd"));
+		EntropyStrategy ai = new EntropyStrategy(small);
+		assertEquals("abcd", ai.makeGuess(null));
+	}
+
+	@Test
+	public void sameGuessOnDifferentPools() {
+		EntropyStrategy common = new EntropyStrategy(dictionary);
+		EntropyStrategy single = new EntropyStrategy(dictionary, new ForkJoinPool(1));
+		WordleAnswer answer = new WordleAnswer("cloud", dictionary);
+		WordleWord feedback = answer.makeGuess("soare");
+		common.makeGuess(null);
+		single.makeGuess(null);
+		assertEquals(common.makeGuess(feedback), single.makeGuess(feedback));
+	}
+
+	@Test
+	public void solvesWithinSixGuesses() {
+		EntropyStrategy ai = new EntropyStrategy(dictionary);
+		for (String word : List.of("cloud", "mummy", "hatch", "jazzy", "eerie")) {
+			ai.reset();
+			WordleAnswer answer = new WordleAnswer(word, dictionary);
+			int guesses = AIPerformance.runWordleGame(ai, answer);
+			assertTrue(guesses <= 6, "Used " + guesses + " guesses on " + word);
+		}
+	}
+
+	@Test
+	public void solvesWordsTooLongForMatrix() {
+		// 11 letter words have no feedback matrix, so the feedback is scored from
+		// the packed letters
+		List<String> words = List.of("abcdefghijk", "abcdefghijl", "abcdefghiml", "bacdefghijk", "kjihgfedcba",
+				"abcdefghkji");
+		Dictionary long11 = new Dictionary(words, words);
+		assertFalse(FeedbackMatrix.supports(long11));
+		EntropyStrategy ai = new EntropyStrategy(long11);
+		for (String word : words) {
+			WordleAnswer answer = new WordleAnswer(word, long11);
+			int guesses = AIPerformance.runWordleGame(ai, answer);
+			assertTrue(guesses <= 3, word + " took " + guesses + " guesses");
+			ai.reset();
+		}
+	}
+
+	@Test
+	public void hardModeOnlyMakesLegalGuesses() {
+		EntropyStrategy ai = new EntropyStrategy(dictionary, ForkJoinPool.commonPool(), true);
+		assertEquals("HardEntropyStrategy", ai.getName());
+		for (String word : List.of("cloud", "hatch", "eerie")) {
+			WordleAnswer answer = new WordleAnswer(word, dictionary);
+			LegalGuessList legal = new LegalGuessList(dictionary);
+			WordleWord feedback = null;
+			do {
+				String guess = ai.makeGuess(feedback);
+				assertTrue(legal.isLegal(guess), guess + " does not fit the feedback for " + word);
+				feedback = answer.makeGuess(guess);
+				legal.add(feedback);
+			} while (!feedback.allMatch());
+			ai.reset();
+		}
+	}
+
+}
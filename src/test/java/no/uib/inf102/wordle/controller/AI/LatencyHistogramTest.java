@@ -0,0 +1,70 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(50, histogram.percentile(100));
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(25.5, histogram.getMean(), 1e-12);
+    }
+
+    @Test
+    public void percentilesAreWithinBucketWidth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000);
+        }
+        for (double p : new double[] { 50, 90, 99, 99.9 }) {
+            long exact = (long) Math.ceil(p / 100 * 100_000) * 1000;
+            long value = histogram.percentile(p);
+            assertTrue(value >= exact, p + ": " + value + " < " + exact);
+            assertTrue(value <= exact + exact / 32, p + ": " + value + " too far above " + exact);
+        }
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(100_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void largeValuesFit() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+    }
+
+    @Test
+    public void mergeAddsCounts() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        a.record(20);
+        b.record(5_000_000);
+
+        a.merge(b);
+        assertEquals(3, a.getCount());
+        assertEquals(5_000_000, a.getMax());
+        assertEquals(20, a.percentile(66));
+        assertEquals(5_000_000, a.percentile(100));
+    }
+}
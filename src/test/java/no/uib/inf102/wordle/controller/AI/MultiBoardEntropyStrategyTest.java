@@ -0,0 +1,69 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.MultiBoardGame;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class MultiBoardEntropyStrategyTest {
+
+	private Dictionary dictionary = Dictionary.getDefault();
+
+	@Test
+	public void openingIsSameAsForOneBoard() {
+		MultiBoardEntropyStrategy ai = new MultiBoardEntropyStrategy(dictionary, 8);
+		assertEquals(new EntropyStrategy(dictionary).makeGuess(null), ai.makeGuess(null));
+	}
+
+	@Test
+	public void guessesBoardWithOneAnswerLeft() {
+		Dictionary small = new Dictionary(List.of("aaaa", "abcd", "bbbb", "cccc", "dddd"),
+				List.of("aaaa", "bbbb", "cccc", "dddd"));
+		MultiBoardEntropyStrategy ai = new MultiBoardEntropyStrategy(small, 2);
+		MultiBoardGame game = new MultiBoardGame(
+				List.of(new WordleAnswer("bbbb", small), new WordleAnswer("dddd", small)));
+
+		// "abcd" tells every answer apart, so both boards are known after it
+		assertEquals("abcd", ai.makeGuess(null));
+		WordleWord[] feedback = game.makeGuess("abcd");
+		String guess = ai.makeGuess(feedback);
+		assertEquals(1, ai.candidateCount(0));
+		assertEquals(1, ai.candidateCount(1));
+		assertEquals("bbbb", guess);
+		feedback = game.makeGuess(guess);
+		assertEquals("dddd", ai.makeGuess(feedback));
+		assertEquals(0, ai.candidateCount(0));
+	}
+
+	@Test
+	public void solvesSixteenBoards() {
+		MultiBoardGame game = MultiBoardGame.random(dictionary, 16, new Random(16));
+		MultiBoardEntropyStrategy ai = new MultiBoardEntropyStrategy(dictionary, 16);
+		int guesses = AIPerformance.runMultiBoardGame(ai, game);
+		assertTrue(game.isWon());
+		assertTrue(guesses <= game.maxGuesses(), guesses + " guesses");
+	}
+
+	@Test
+	public void solvedBoardsGetNoFeedback() {
+		MultiBoardGame game = new MultiBoardGame(
+				List.of(new WordleAnswer("cigar", dictionary), new WordleAnswer("cloud", dictionary)));
+		WordleWord[] feedback = game.makeGuess("cigar");
+		assertTrue(feedback[0].allMatch());
+		assertEquals(1, game.solvedCount());
+		feedback = game.makeGuess("cloud");
+		assertNull(feedback[0]);
+		assertTrue(feedback[1].allMatch());
+		assertTrue(game.isWon());
+		assertEquals(2, game.guessCount());
+	}
+}
@@ -0,0 +1,80 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class OpeningBookTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void playsLikeTheWrappedStrategy() {
+        OpeningBook book = OpeningBook.inMemory(dictionary);
+        for (int round = 0; round < 2; round++) {
+            // The first round fills the book, the second plays from it
+            OpeningBookStrategy booked = new OpeningBookStrategy(new MyStrategy(dictionary), book);
+            MyStrategy plain = new MyStrategy(dictionary);
+            for (WordleAnswer answer : AIPerformance.answerSequence(30)) {
+                booked.reset();
+                plain.reset();
+                WordleWord feedback = null;
+                do {
+                    String guess = booked.makeGuess(feedback);
+                    assertEquals(plain.makeGuess(feedback), guess);
+                    feedback = answer.makeGuess(guess);
+                } while (!feedback.allMatch());
+            }
+        }
+        assertNotNull(book.firstGuess());
+    }
+
+    @Test
+    public void guessesComeFromTheBook() {
+        OpeningBook book = OpeningBook.inMemory(dictionary);
+        book.putFirstGuess("crane");
+        int code = FeedbackPattern.match("crane", "cloud");
+        book.putSecondGuess(code, "aloud");
+
+        OpeningBookStrategy ai = new OpeningBookStrategy(new FrequencyStrategy(dictionary), book);
+        assertEquals("crane", ai.makeGuess(null));
+        assertEquals("aloud", ai.makeGuess(FeedbackPattern.toWordleWord("crane", code)));
+        assertEquals("FrequencyStrategy", ai.getName());
+    }
+
+    @Test
+    public void saveAndLoad() {
+        List<String> guesses = dictionary.getGuessWordsList();
+        List<String> answers = dictionary.getAnswerWordsList();
+        Dictionary cached = new Dictionary(guesses, answers, folder);
+
+        OpeningBook book = OpeningBook.load(cached, "Frequency");
+        assertNull(book.firstGuess());
+        book.putFirstGuess("crane");
+        book.putSecondGuess(7, "moist");
+        book.save();
+
+        OpeningBook loaded = OpeningBook.load(cached, "Frequency");
+        assertEquals("crane", loaded.firstGuess());
+        assertEquals("moist", loaded.secondGuess(7));
+        assertNull(loaded.secondGuess(8));
+        assertNull(OpeningBook.load(cached, "My").firstGuess());
+
+        Dictionary other = new Dictionary(guesses.subList(0, 100), answers.subList(0, 10), folder);
+        assertNull(OpeningBook.load(other, "Frequency").firstGuess());
+    }
+}
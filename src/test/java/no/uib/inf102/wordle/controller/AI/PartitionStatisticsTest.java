@@ -0,0 +1,85 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.FeedbackPattern;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+public class PartitionStatisticsTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @Test
+    public void statisticsOfSmallPartition() {
+        // Buckets of size 2, 1 and 1
+        PartitionStatistics partition = new PartitionStatistics(5, 10);
+        partition.add(0);
+        partition.add(242);
+        partition.add(0);
+        partition.add(17);
+
+        assertEquals(4, partition.total());
+        assertEquals(3, partition.bucketCount());
+        assertEquals(2, partition.maxBucket());
+        assertEquals(2, partition.bucketSize(0));
+        assertEquals((4 + 1 + 1) / 4.0, partition.expectedSize(), 1e-12);
+        assertEquals(1.5, partition.entropy(), 1e-12);
+    }
+
+    @Test
+    public void largestBucketPrefersLowestCode() {
+        PartitionStatistics partition = new PartitionStatistics(5, 10);
+        assertEquals(-1, partition.largestBucketCode());
+        partition.add(242);
+        assertEquals(242, partition.largestBucketCode());
+        partition.add(17);
+        partition.add(3);
+        assertEquals(3, partition.largestBucketCode());
+        partition.add(17);
+        assertEquals(17, partition.largestBucketCode());
+    }
+
+    @Test
+    public void clearEmptiesEveryBucket() {
+        PartitionStatistics partition = new PartitionStatistics(5, 10);
+        partition.add(5);
+        partition.add(6);
+        partition.clear();
+        assertEquals(0, partition.total());
+        assertEquals(0, partition.bucketCount());
+        assertEquals(0, partition.bucketSize(5));
+        assertEquals(0, partition.maxBucket());
+        assertEquals(0, partition.entropy());
+    }
+
+    @Test
+    public void matrixAndStringPartitionsAgree() {
+        WordleWordList candidates = new WordleWordList(dictionary);
+        candidates.eliminateWords(FeedbackPattern.toWordleWord("arise", FeedbackPattern.match("arise", "cloud")));
+        // Fewer than maxTotal answers are precomputed, the rest use Math.log
+        PartitionStatistics fromMatrix = new PartitionStatistics(5, 10);
+        PartitionStatistics fromStrings = new PartitionStatistics(5, 10);
+        PartitionStatistics fromLetters = new PartitionStatistics(5, 10);
+        int[] candidateIndices = new int[candidates.size()];
+        for (int a = candidates.nextPossibleAnswer(0), i = 0; a >= 0; a = candidates.nextPossibleAnswer(a + 1)) {
+            candidateIndices[i++] = a;
+        }
+        for (String guess : List.of("cloud", "lotus", "fuzzy", "arise")) {
+            int guessIndex = dictionary.getGuessIndex(guess);
+            fromMatrix.partition(dictionary.getFeedbackMatrix(), guessIndex, candidates);
+            fromStrings.partition(guess, candidates.possibleAnswers());
+            fromLetters.partition(dictionary, guessIndex, candidateIndices);
+            assertEquals(fromLetters.entropy(), fromMatrix.entropy(), 1e-12, guess);
+            assertEquals(candidates.size(), fromMatrix.total());
+            assertEquals(fromStrings.bucketCount(), fromMatrix.bucketCount(), guess);
+            assertEquals(fromStrings.maxBucket(), fromMatrix.maxBucket(), guess);
+            assertEquals(fromStrings.entropy(), fromMatrix.entropy(), 1e-12, guess);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package no.uib.inf102.wordle.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.controller.AI.EntropyStrategy;
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+public class CountingMetricsTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @AfterEach
+    public void uninstall() {
+        Metrics.install(Metrics.NONE);
+    }
+
+    @Test
+    public void countersAndTimersAddUp() {
+        CountingMetrics metrics = new CountingMetrics();
+        metrics.count("a", 2);
+        metrics.count("a", 3);
+        metrics.time("t", 10);
+        metrics.time("t", 30);
+
+        assertEquals(5, metrics.getCount("a"));
+        assertEquals(0, metrics.getCount("b"));
+        assertEquals(2, metrics.getTimerCount("t"));
+        assertEquals(40, metrics.getTotalNanos("t"));
+        assertEquals(30, metrics.getMaxNanos("t"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getCount("a"));
+        assertEquals(0, metrics.getTimerCount("t"));
+    }
+
+    @Test
+    public void noneIsInstalledByDefault() {
+        assertSame(Metrics.NONE, Metrics.current());
+        assertThrows(IllegalArgumentException.class, () -> Metrics.install(null));
+    }
+
+    @Test
+    public void eliminationIsCounted() {
+        CountingMetrics metrics = new CountingMetrics();
+        Metrics.install(metrics);
+
+        WordleWordList list = new WordleWordList(dictionary);
+        int before = list.size();
+        list.eliminateWords(new WordleAnswer("crane", dictionary).makeGuess("slate"));
+
+        assertEquals(1, metrics.getTimerCount(Metrics.ELIMINATE));
+        assertEquals(before - list.size(), metrics.getCount(Metrics.ELIMINATED_WORDS));
+    }
+
+    @Test
+    public void guessesAreCounted() {
+        EntropyStrategy strategy = new EntropyStrategy(dictionary);
+        String opening = strategy.makeGuess(null);
+        WordleWord feedback = new WordleAnswer("crane", dictionary).makeGuess(opening);
+
+        CountingMetrics metrics = new CountingMetrics();
+        Metrics.install(metrics);
+        strategy.makeGuess(feedback);
+
+        assertEquals(1, metrics.getTimerCount(Metrics.GUESS));
+        assertEquals(1, metrics.getTimerCount(Metrics.ELIMINATE));
+        long scored = metrics.getCount(Metrics.WORDS_SCORED);
+        assertTrue(scored == 0 || scored == dictionary.guessCount(), "scored " + scored);
+        assertTrue(metrics.toString().contains(Metrics.GUESS));
+    }
+}
@@ -0,0 +1,93 @@
+package no.uib.inf102.wordle.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import no.uib.inf102.wordle.controller.AI.FrequencyStrategy;
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.WordListReader;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
+
+public class SolverEventsTest {
+
+    @TempDir
+    Path folder;
+
+    private List<RecordedEvent> record(Runnable work) throws IOException {
+        Path file = folder.resolve("solver.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EliminateEvent.class);
+            recording.enable(GuessEvent.class);
+            recording.enable(DictionaryLoadEvent.class);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    @Test
+    public void gameIsRecorded() throws IOException {
+        Dictionary dictionary = Dictionary.getDefault();
+        WordleAnswer answer = new WordleAnswer("crane", dictionary);
+        List<RecordedEvent> events = record(() -> {
+            FrequencyStrategy strategy = new FrequencyStrategy(dictionary);
+            WordleWord feedback = null;
+            for (int i = 0; i < 10 && (feedback == null || !feedback.allMatch()); i++) {
+                feedback = answer.makeGuess(strategy.makeGuess(feedback));
+            }
+        });
+
+        List<RecordedEvent> guesses = ofType(events, "no.uib.inf102.wordle.Guess");
+        List<RecordedEvent> eliminations = ofType(events, "no.uib.inf102.wordle.Eliminate");
+        assertFalse(guesses.isEmpty());
+        assertEquals(guesses.size() - 1, eliminations.size());
+
+        RecordedEvent first = guesses.get(0);
+        assertEquals("FrequencyStrategy", first.getString("strategy"));
+        assertEquals(dictionary.answerCount(), first.getInt("candidatesBefore"));
+        assertEquals(dictionary.answerCount(), first.getLong("wordsScored"));
+        for (RecordedEvent elimination : eliminations) {
+            assertTrue(elimination.getInt("candidatesAfter") <= elimination.getInt("candidatesBefore"));
+            assertEquals(5, elimination.getString("guess").length());
+        }
+    }
+
+    @Test
+    public void dictionaryLoadIsRecorded() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            try {
+                WordListReader.readResources(LoadFromFile5LetterEnglish.GUESS_WORDS_RESOURCE,
+                        LoadFromFile5LetterEnglish.ANSWER_WORDS_RESOURCE);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        List<RecordedEvent> loads = ofType(events, "no.uib.inf102.wordle.DictionaryLoad");
+        assertEquals(1, loads.size());
+        assertEquals("word lists", loads.get(0).getString("table"));
+        assertEquals(Dictionary.getDefault().guessCount(), loads.get(0).getInt("guessWords"));
+        assertFalse(loads.get(0).getEventType().getFields().stream().anyMatch(f -> f.getName().equals("metrics")));
+    }
+}
@@ -0,0 +1,87 @@
+package no.uib.inf102.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DictionaryFileTest {
+
+    private static final List<String> GUESSES = List.of("blå", "sør", "ære", "hei", "hav");
+    private static final List<String> ANSWERS = List.of("sør", "fjø", "hav");
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void writeAndRead() throws IOException {
+        Dictionary written = new Dictionary(GUESSES, ANSWERS);
+        Path file = folder.resolve("norsk.dict");
+        DictionaryFile.write(written, file);
+        Dictionary read = Dictionary.load(file);
+
+        assertEquals(written.WORD_LENGTH, read.WORD_LENGTH);
+        assertEquals(written.getChecksum(), read.getChecksum());
+        assertEquals(written.wordCount(), read.wordCount());
+        assertEquals(GUESSES, read.getGuessWordsList());
+        assertEquals(ANSWERS, read.getAnswerWordsList());
+        for (int id = 0; id < written.wordCount(); id++) {
+            String word = written.getWord(id);
+            assertEquals(word, read.getWord(id));
+            assertEquals(id, read.getId(word));
+            assertEquals(written.getAnswerIndex(id), read.getAnswerIndex(id));
+            assertEquals(written.isLegalGuess(id), read.isLegalGuess(id));
+        }
+        assertEquals(-1, read.getId("fjs"));
+        assertEquals(FeedbackMatrix.compute(written).get(1, 2), read.getFeedbackMatrix().get(1, 2));
+    }
+
+    @Test
+    public void defaultDictionaryEqualsWordLists() {
+        Dictionary dictionary = Dictionary.getDefault();
+        Dictionary fromLists = new Dictionary(dictionary.getGuessWordsList(), dictionary.getAnswerWordsList());
+        assertEquals(fromLists.getChecksum(), dictionary.getChecksum());
+        assertEquals(fromLists.getId("cloud"), dictionary.getId("cloud"));
+    }
+
+    @Test
+    public void corruptFileIsRejected() throws IOException {
+        Path file = folder.resolve("norsk.dict");
+        DictionaryFile.write(new Dictionary(GUESSES, ANSWERS), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> Dictionary.load(file));
+
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> Dictionary.load(file));
+    }
+
+    @Test
+    public void convertsWhenWordListsChange() throws IOException {
+        Path guessFile = folder.resolve("guesses.txt");
+        Path answerFile = folder.resolve("answers.txt");
+        Path file = folder.resolve("words.dict");
+        Files.write(guessFile, List.of("hei", "hav", "sør"));
+        Files.write(answerFile, List.of("hav", "sør"));
+
+        Dictionary first = DictionaryFile.loadOrConvert(guessFile, answerFile, file, folder);
+        assertTrue(Files.isRegularFile(file));
+        assertEquals(first.getChecksum(), DictionaryFile.loadOrConvert(guessFile, answerFile, file, folder)
+                .getChecksum());
+
+        Files.write(answerFile, List.of("hav"));
+        Files.setLastModifiedTime(answerFile, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        Dictionary changed = DictionaryFile.loadOrConvert(guessFile, answerFile, file, folder);
+        assertEquals(List.of("hav"), changed.getAnswerWordsList());
+        assertEquals(changed.getChecksum(), Dictionary.load(file).getChecksum());
+    }
+}
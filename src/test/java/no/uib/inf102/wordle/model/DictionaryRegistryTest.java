@@ -0,0 +1,88 @@
+package no.uib.inf102.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DictionaryRegistryTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void loadsEachDictionaryOnce() throws IOException {
+        DictionaryRegistry registry = new DictionaryRegistry(Long.MAX_VALUE);
+        registerNorwegian(registry);
+
+        Dictionary norsk3 = registry.get("Norsk", 3);
+        assertSame(norsk3, registry.get("norsk", 3));
+        assertEquals(3, norsk3.WORD_LENGTH);
+        assertTrue(norsk3.isLegalGuess("blå"));
+        assertEquals(4, registry.get("norsk", 4).WORD_LENGTH);
+        assertSame(norsk3.getFeedbackMatrix(), registry.get("norsk", 3).getFeedbackMatrix());
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get("norsk", 5));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("norsk", 3, () -> norsk3));
+    }
+
+    @Test
+    public void releasesLeastRecentlyUsedTables() throws IOException {
+        DictionaryRegistry sizing = new DictionaryRegistry(Long.MAX_VALUE);
+        registerNorwegian(sizing);
+        long size3 = sizing.get("norsk", 3).getFeedbackMatrix().sizeInBytes();
+        long size4 = sizing.get("norsk", 4).getFeedbackMatrix().sizeInBytes();
+
+        // Room for the tables of one dictionary only
+        DictionaryRegistry registry = new DictionaryRegistry(Math.max(size3, size4));
+        registerNorwegian(registry);
+        Dictionary norsk3 = registry.get("norsk", 3);
+        norsk3.getFeedbackMatrix();
+        Dictionary norsk4 = registry.get("norsk", 4);
+        norsk4.getFeedbackMatrix();
+        assertEquals(size3 + size4, registry.indexBytes());
+
+        // norsk-4 was used last, so asking for norsk-3 releases the tables of
+        // norsk-4
+        assertSame(norsk3, registry.get("norsk", 3));
+        assertEquals(size3, norsk3.indexBytes());
+        assertEquals(0, norsk4.indexBytes());
+        assertEquals(List.of("norsk-4", "norsk-3"), registry.keys());
+
+        // Released tables are built again when they are needed
+        assertEquals(size4, norsk4.getFeedbackMatrix().sizeInBytes());
+    }
+
+    @Test
+    public void wrongWordLengthIsRejected() throws IOException {
+        DictionaryRegistry registry = new DictionaryRegistry(0);
+        registerNorwegian(registry);
+        registry.registerWordLists("feil", 5, folder.resolve("guess3.txt"), folder.resolve("answer3.txt"), null);
+        assertThrows(IllegalStateException.class, () -> registry.get("feil", 5));
+    }
+
+    @Test
+    public void defaultHasEnglish() {
+        assertSame(Dictionary.getDefault(), DictionaryRegistry.getDefault().get("english", 5));
+    }
+
+    private void registerNorwegian(DictionaryRegistry registry) throws IOException {
+        Files.write(folder.resolve("guess3.txt"), List.of("blå", "sør", "ære", "hei", "hav", "sol", "fjø"),
+                StandardCharsets.UTF_8);
+        Files.write(folder.resolve("answer3.txt"), List.of("sør", "hav", "fjø"), StandardCharsets.UTF_8);
+        Files.write(folder.resolve("guess4.txt"), List.of("båte", "søle", "ærer", "hest", "havn", "blåe"),
+                StandardCharsets.UTF_8);
+        Files.write(folder.resolve("answer4.txt"), List.of("hest", "havn", "søle", "båte"), StandardCharsets.UTF_8);
+        registry.registerWordLists("norsk", 3, folder.resolve("guess3.txt"), folder.resolve("answer3.txt"), null);
+        registry.registerWordLists("norsk", 4, folder.resolve("guess4.txt"), folder.resolve("answer4.txt"), null);
+    }
+}
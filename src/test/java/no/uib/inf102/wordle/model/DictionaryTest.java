@@ -2,11 +2,15 @@ package no.uib.inf102.wordle.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -17,7 +21,7 @@ public class DictionaryTest {
 
     @BeforeAll
     public static void setup() {
-        dictionary = new Dictionary();
+        dictionary = Dictionary.getDefault();
     }
 
     @Test
@@ -67,6 +71,74 @@ public class DictionaryTest {
     	for(String word : gibberish) {
     		assertFalse(dictionary.isLegalGuess(word),"The word "+word+" should not be a leagal guess");
     	}
-    }   
+    }
+
+    @Test
+    public void idsMatchGuessWordsList() {
+    	List<String> guesses = dictionary.getGuessWordsList();
+    	for (int id = 0; id < guesses.size(); id++) {
+    		assertEquals(guesses.get(id), dictionary.getWord(id));
+    		assertEquals(id, dictionary.getId(guesses.get(id)));
+    		assertTrue(dictionary.isLegalGuess(id));
+    	}
+    	assertFalse(dictionary.isLegalGuess(-1));
+    	assertEquals(-1, dictionary.getId("hfepy"));
+    	assertEquals(-1, dictionary.getId("toolong"));
+    }
+
+    @Test
+    public void answerIdsMatchAnswerWordsList() {
+    	List<String> answers = dictionary.getAnswerWordsList();
+    	for (int a = 0; a < answers.size(); a++) {
+    		int id = dictionary.getAnswerId(a);
+    		assertEquals(answers.get(a), dictionary.getWord(id));
+    		assertEquals(a, dictionary.getAnswerIndex(id));
+    		assertTrue(dictionary.isLegalAnswer(id));
+    	}
+    }
+
+    @Test
+    public void answersOutsideGuessListGetOwnIds() {
+    	Dictionary small = new Dictionary(List.of("abc", "bcd"), List.of("bcd", "cde"));
+    	assertEquals(3, small.wordCount());
+    	int id = small.getId("cde");
+    	assertEquals(2, id);
+    	assertFalse(small.isLegalGuess(id));
+    	assertTrue(small.isLegalAnswer(id));
+    	assertFalse(small.isLegalAnswer(small.getId("abc")));
+    }
+
+    @Test
+    public void lettersAreStoredAsAlphabetIndices() {
+    	Dictionary norwegian = new Dictionary(List.of("blå", "sør", "ære"), List.of("blå"));
+    	int id = norwegian.getId("sør");
+    	for (int i = 0; i < 3; i++) {
+    		assertEquals("sør".charAt(i), norwegian.letter(norwegian.getLetter(id, i)));
+    	}
+    	assertEquals(-1, norwegian.letterIndex('x'));
+    }
+
+    @Test
+    public void defaultIsSharedAndUnmodifiable() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Dictionary>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(Dictionary::getDefault));
+            }
+            for (Future<Dictionary> future : futures) {
+                assertSame(dictionary, future.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(UnsupportedOperationException.class, () -> dictionary.getGuessWordsList().set(0, "xxxxx"));
+        assertThrows(UnsupportedOperationException.class, () -> dictionary.getAnswerWordsList().remove(0));
+
+        List<String> guesses = new ArrayList<>(List.of("abc", "bcd"));
+        Dictionary copied = new Dictionary(guesses, List.of("abc"));
+        guesses.set(0, "cde");
+        assertEquals("abc", copied.getGuessWordsList().get(0));
+    }
 
 }
@@ -0,0 +1,126 @@
+package no.uib.inf102.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import no.uib.inf102.wordle.model.word.AnswerType;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleCharacter;
+
+public class FeedbackMatrixTest {
+
+    private static final List<String> GUESSES = List.of("arise", "hello", "llama", "speed", "abide", "erase",
+            "steal", "adept", "crane", "geese");
+    private static final List<String> ANSWERS = List.of("hello", "abide", "speed", "erase", "steal");
+
+    private static final int HEADER_SIZE = 36;
+
+    @TempDir
+    Path folder;
+
+    private Dictionary dictionary = new Dictionary(GUESSES, ANSWERS);
+
+    @Test
+    public void matchesMatchWord() {
+        FeedbackMatrix matrix = FeedbackMatrix.compute(dictionary);
+        assertEquals(GUESSES.size(), matrix.guessCount());
+        assertEquals(ANSWERS.size(), matrix.answerCount());
+        for (int g = 0; g < GUESSES.size(); g++) {
+            for (int a = 0; a < ANSWERS.size(); a++) {
+                int expected = toCode(WordleAnswer.matchWord(GUESSES.get(g), ANSWERS.get(a)));
+                assertEquals(expected, matrix.get(g, a), GUESSES.get(g) + " against " + ANSWERS.get(a));
+            }
+        }
+    }
+
+    @Test
+    public void cacheIsWrittenAndReused() throws IOException {
+        Path cacheFile = folder.resolve("test.matrix");
+        FeedbackMatrix computed = FeedbackMatrix.load(dictionary, cacheFile);
+        assertTrue(Files.isRegularFile(cacheFile));
+        long modified = Files.getLastModifiedTime(cacheFile).toMillis();
+
+        FeedbackMatrix loaded = FeedbackMatrix.load(dictionary, cacheFile);
+        assertEquals(modified, Files.getLastModifiedTime(cacheFile).toMillis());
+        assertSameEntries(computed, loaded);
+    }
+
+    @Test
+    public void corruptCacheIsRebuilt() throws IOException {
+        Path cacheFile = folder.resolve("test.matrix");
+        FeedbackMatrix computed = FeedbackMatrix.load(dictionary, cacheFile);
+
+        byte[] bytes = Files.readAllBytes(cacheFile);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(cacheFile, bytes);
+
+        assertSameEntries(computed, FeedbackMatrix.load(dictionary, cacheFile));
+    }
+
+    @Test
+    public void cacheOfOtherDictionaryIsNotUsed() {
+        Path cacheFile = folder.resolve("test.matrix");
+        FeedbackMatrix.load(dictionary, cacheFile);
+
+        Dictionary other = new Dictionary(GUESSES, List.of("llama", "crane", "adept", "geese", "arise"));
+        assertSameEntries(FeedbackMatrix.compute(other), FeedbackMatrix.load(other, cacheFile));
+    }
+
+    @Test
+    public void longWordsUseTwoBytes() throws IOException {
+        List<String> guesses = List.of("letters", "setters", "swatter", "trestle", "kittens", "address");
+        List<String> answers = List.of("setters", "trestle", "address", "letters");
+        Dictionary long7 = new Dictionary(guesses, answers);
+        assertEquals(2, FeedbackMatrix.entrySize(long7.WORD_LENGTH));
+
+        Path cacheFile = folder.resolve("long.matrix");
+        FeedbackMatrix computed = FeedbackMatrix.load(long7, cacheFile);
+        assertEquals(HEADER_SIZE + 2 * guesses.size() * answers.size(), Files.size(cacheFile));
+        assertSameEntries(computed, FeedbackMatrix.load(long7, cacheFile));
+        for (int g = 0; g < guesses.size(); g++) {
+            for (int a = 0; a < answers.size(); a++) {
+                int expected = toCode(WordleAnswer.matchWord(guesses.get(g), answers.get(a)));
+                assertEquals(expected, computed.get(g, a), guesses.get(g) + " against " + answers.get(a));
+            }
+        }
+        // all CORRECT does not fit in a byte
+        assertEquals(2186, computed.get(0, 3));
+    }
+
+    @Test
+    public void dictionarySharesMatrix() {
+        assertSame(dictionary.getFeedbackMatrix(), dictionary.getFeedbackMatrix());
+    }
+
+    private void assertSameEntries(FeedbackMatrix expected, FeedbackMatrix actual) {
+        assertEquals(expected.guessCount(), actual.guessCount());
+        assertEquals(expected.answerCount(), actual.answerCount());
+        for (int g = 0; g < expected.guessCount(); g++) {
+            for (int a = 0; a < expected.answerCount(); a++) {
+                assertEquals(expected.get(g, a), actual.get(g, a));
+            }
+        }
+    }
+
+    private static int toCode(Iterable<WordleCharacter> feedback) {
+        int code = 0;
+        int weight = 1;
+        for (WordleCharacter c : feedback) {
+            if (c.answerType == AnswerType.CORRECT)
+                code += 2 * weight;
+            else if (c.answerType == AnswerType.MISPLACED)
+                code += weight;
+            weight *= 3;
+        }
+        return code;
+    }
+}
@@ -0,0 +1,69 @@
+package no.uib.inf102.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import no.uib.inf102.wordle.resources.LoadFromFile5LetterEnglish;
+
+public class WordListReaderTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void normalizesWords() throws IOException {
+        Path guessFile = write("guesses.txt", "Blå", "", "  sør ", "ÆRE", "blå", "hei");
+        Path answerFile = write("answers.txt", "sør", "fjø", "\t", "sør");
+
+        Dictionary read = WordListReader.read(guessFile, answerFile, folder);
+        assertEquals(List.of("blå", "sør", "ære", "hei"), read.getGuessWordsList());
+        assertEquals(List.of("sør", "fjø"), read.getAnswerWordsList());
+        assertEquals(5, read.wordCount());
+        assertEquals(4, read.getId("fjø"));
+        assertTrue(read.isLegalGuess(read.getId("ære")));
+        assertEquals(new Dictionary(read.getGuessWordsList(), read.getAnswerWordsList()).getChecksum(),
+                read.getChecksum());
+    }
+
+    @Test
+    public void wrongLengthGivesLineNumber() throws IOException {
+        Path guessFile = write("guesses.txt", "hei", "hav", "", "sole");
+        Path answerFile = write("answers.txt", "hav");
+        IOException e = assertThrows(IOException.class, () -> WordListReader.read(guessFile, answerFile, null));
+        assertTrue(e.getMessage().contains("guesses.txt:4"), e.getMessage());
+    }
+
+    @Test
+    public void emptyListIsRejected() throws IOException {
+        Path guessFile = write("guesses.txt", "hei");
+        Path answerFile = write("answers.txt", "", " ");
+        assertThrows(IOException.class, () -> WordListReader.read(guessFile, answerFile, null));
+    }
+
+    @Test
+    public void resourcesEqualDefaultDictionary() throws IOException {
+        Dictionary resources = WordListReader.readResources(LoadFromFile5LetterEnglish.GUESS_WORDS_RESOURCE,
+                LoadFromFile5LetterEnglish.ANSWER_WORDS_RESOURCE);
+        Dictionary dictionary = Dictionary.getDefault();
+        assertEquals(dictionary.getChecksum(), resources.getChecksum());
+        assertEquals(dictionary.getId("cloud"), resources.getId("cloud"));
+        assertNull(resources.getCacheFile("feedback", ".matrix"));
+
+        assertThrows(IOException.class, () -> WordListReader.readResources("/missing.txt", "/missing.txt"));
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(folder.resolve(name), List.of(lines), StandardCharsets.UTF_8);
+    }
+}
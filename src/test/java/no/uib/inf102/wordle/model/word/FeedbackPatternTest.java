@@ -0,0 +1,79 @@
+package no.uib.inf102.wordle.model.word;
+
+import static no.uib.inf102.wordle.model.word.AnswerType.CORRECT;
+import static no.uib.inf102.wordle.model.word.AnswerType.MISPLACED;
+import static no.uib.inf102.wordle.model.word.AnswerType.WRONG;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+public class FeedbackPatternTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @Test
+    public void patternCountFiveLetters() {
+        assertEquals(243, FeedbackPattern.patternCount(5));
+        assertEquals(242, FeedbackPattern.allCorrect(5));
+    }
+
+    @Test
+    public void encodeUsesBaseThree() {
+        AnswerType[] feedback = { CORRECT, WRONG, MISPLACED, WRONG, WRONG };
+        assertEquals(2 + 1 * 9, FeedbackPattern.encode(feedback));
+    }
+
+    @Test
+    public void decodeIsInverseOfEncode() {
+        for (int code = 0; code < FeedbackPattern.patternCount(5); code++) {
+            AnswerType[] feedback = FeedbackPattern.decode(code, 5);
+            assertEquals(code, FeedbackPattern.encode(feedback));
+            assertEquals(code, FeedbackPattern.encode(new WordleWord("arise", feedback)));
+        }
+    }
+
+    @Test
+    public void decodeRejectsCodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> FeedbackPattern.decode(243, 5));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackPattern.decode(-1, 5));
+    }
+
+    @Test
+    public void matchDoubleLetters() {
+        // answer abide, guess speed: the first e is misplaced, the second is wrong
+        AnswerType[] expected = { WRONG, WRONG, MISPLACED, WRONG, MISPLACED };
+        assertArrayEquals(expected, FeedbackPattern.decode(FeedbackPattern.match("speed", "abide"), 5));
+    }
+
+    @Test
+    public void matchRejectsDifferentLengths() {
+        assertThrows(IllegalArgumentException.class, () -> FeedbackPattern.match("arise", "car"));
+    }
+
+    @Test
+    public void packedMatchEqualsStringMatch() {
+        List<String> words = dictionary.getGuessWordsList();
+        Random random = new Random(102);
+        byte[] letters = new byte[10];
+        int[] counts = new int[26];
+        for (int i = 0; i < 10000; i++) {
+            String guess = words.get(random.nextInt(words.size()));
+            String answer = words.get(random.nextInt(words.size()));
+            for (int j = 0; j < 5; j++) {
+                letters[j] = (byte) (guess.charAt(j) - 'a');
+                letters[5 + j] = (byte) (answer.charAt(j) - 'a');
+            }
+            assertEquals(FeedbackPattern.match(guess, answer), FeedbackPattern.match(letters, 0, 5, 5, counts),
+                    guess + " against " + answer);
+            assertArrayEquals(new int[26], counts, "Scratch counts must be cleared");
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.GameState;
+import no.uib.inf102.wordle.model.WordleBoard;
+import no.uib.inf102.wordle.model.WordleModel;
+
+public class LegalGuessListTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @Test
+    public void legalGuessesFitAllFeedback() {
+        LegalGuessList legal = new LegalGuessList(dictionary);
+        assertEquals(dictionary.guessCount(), legal.size());
+        List<String> guesses = List.of("arise", "clout");
+        String answer = "cloud";
+        for (String guess : guesses) {
+            legal.add(WordleAnswer.matchWord(guess, answer));
+        }
+
+        int count = 0;
+        for (int id = 0; id < dictionary.guessCount(); id++) {
+            String word = dictionary.getWord(id);
+            boolean expected = true;
+            for (String guess : guesses) {
+                expected &= FeedbackPattern.match(guess, word) == FeedbackPattern.match(guess, answer);
+            }
+            assertEquals(expected, legal.isLegal(id), word);
+            if (expected)
+                count++;
+        }
+        assertEquals(count, legal.size());
+        assertTrue(legal.isLegal(answer));
+        assertFalse(legal.isLegal("arise"));
+    }
+
+    @Test
+    public void nextLegalVisitsEveryLegalGuess() {
+        LegalGuessList legal = new LegalGuessList(dictionary);
+        legal.add(dictionary.getId("crane"), FeedbackPattern.match("crane", "rebut"));
+        int visited = 0;
+        for (int id = legal.nextLegal(0); id >= 0; id = legal.nextLegal(id + 1)) {
+            assertTrue(legal.isLegal(id));
+            visited++;
+        }
+        assertEquals(legal.size(), visited);
+        assertEquals(-1, legal.nextLegal(dictionary.guessCount()));
+    }
+
+    @Test
+    public void hardModeModelRejectsInconsistentGuess() {
+        WordleModel model = new WordleModel(new WordleBoard(6, 5), dictionary);
+        model.setHardMode(true);
+        type(model, "arise");
+        model.makeGuess();
+        assertThrows(IllegalStateException.class, () -> model.setHardMode(false));
+
+        if (model.getGameState() == GameState.ACTIVE_GAME) {
+            // arise was not the answer, so it does not fit its own feedback
+            type(model, "arise");
+            assertThrows(IllegalArgumentException.class, () -> model.makeGuess());
+        }
+
+        model.reset();
+        model.setHardMode(true);
+        assertTrue(model.isHardMode());
+    }
+
+    private static void type(WordleModel model, String word) {
+        while (model.removeCharacter())
+            ;
+        for (char c : word.toCharArray()) {
+            model.addCharacter(c);
+        }
+    }
+}
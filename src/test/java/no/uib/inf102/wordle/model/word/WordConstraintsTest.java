@@ -0,0 +1,114 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+public class WordConstraintsTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @Test
+    public void passesSameWordsAsMatching() {
+        List<String> guessWords = dictionary.getGuessWordsList();
+        List<String> answerWords = dictionary.getAnswerWordsList();
+        Random random = new Random(102);
+        for (int game = 0; game < 50; game++) {
+            String answer = answerWords.get(random.nextInt(answerWords.size()));
+            WordConstraints constraints = new WordConstraints(dictionary);
+            List<String> guesses = new ArrayList<>();
+            for (int turn = 0; turn < 3; turn++) {
+                String guess = guessWords.get(random.nextInt(guessWords.size()));
+                guesses.add(guess);
+                constraints.add(WordleAnswer.matchWord(guess, answer));
+
+                for (String word : answerWords) {
+                    boolean expected = true;
+                    for (String g : guesses) {
+                        expected &= FeedbackPattern.match(g, word) == FeedbackPattern.match(g, answer);
+                    }
+                    assertEquals(expected, constraints.test(dictionary.getId(word)),
+                            word + " after " + guesses + " with answer " + answer);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void doubleLetters() {
+        // speed against abide: one e in the answer, and not in position 2 or 3
+        WordConstraints constraints = new WordConstraints(dictionary);
+        constraints.add(WordleAnswer.matchWord("speed", "abide"));
+        int e = dictionary.letterIndex('e');
+        assertEquals(1, constraints.minCount(e));
+        assertEquals(1, constraints.maxCount(e));
+        assertEquals(0, constraints.maxCount(dictionary.letterIndex('s')));
+        assertTrue(constraints.test("abide"));
+        assertFalse(constraints.test("eerie"));
+        assertFalse(constraints.test("cloud"));
+    }
+
+    @Test
+    public void addByIdEqualsAddByFeedback() {
+        WordConstraints byId = new WordConstraints(dictionary);
+        WordConstraints byFeedback = new WordConstraints(dictionary);
+        byId.add(dictionary.getId("crane"), FeedbackPattern.match("crane", "rebut"));
+        byFeedback.add(WordleAnswer.matchWord("crane", "rebut"));
+        for (int i = 0; i < dictionary.WORD_LENGTH; i++) {
+            assertEquals(byFeedback.allowedLetters(i), byId.allowedLetters(i));
+        }
+        for (int id = 0; id < dictionary.wordCount(); id++) {
+            assertEquals(byFeedback.test(id), byId.test(id));
+        }
+    }
+
+    @Test
+    public void guessOutsideDictionary() {
+        Dictionary small = new Dictionary(List.of("abc", "bcd", "cde"), List.of("abc", "bcd"));
+        WordConstraints constraints = new WordConstraints(small);
+        // x is not in any word, so it is WRONG
+        constraints.add(WordleAnswer.matchWord("xbc", "abc"));
+        assertTrue(constraints.test("abc"));
+        assertFalse(constraints.test("bcd"));
+
+        WordConstraints impossible = new WordConstraints(small);
+        impossible.add(new WordleWord("xbc", FeedbackPattern.decode(FeedbackPattern.allCorrect(3), 3)));
+        assertFalse(impossible.test("abc"));
+    }
+
+    @Test
+    public void unknownLetterInWordOutsideDictionary() {
+        Dictionary small = new Dictionary(List.of("abc", "bcd", "cde"), List.of("abc", "bcd"));
+        WordConstraints constraints = new WordConstraints(small);
+        // a is CORRECT at position 0, so no other letter can be there
+        constraints.add(WordleAnswer.matchWord("ade", "abc"));
+        assertTrue(constraints.test("abc"));
+        assertFalse(constraints.test("xbc"));
+        // axc has no d or e either, so ade gets the same feedback from it as from abc
+        assertTrue(constraints.test("axc"));
+
+        WordConstraints open = new WordConstraints(small);
+        assertTrue(open.test("xyz"));
+    }
+
+    @Test
+    public void rejectsLargeAlphabet() {
+        StringBuilder letters = new StringBuilder();
+        for (char c = 0x100; c < 0x100 + 65; c++) {
+            letters.append(c);
+        }
+        Dictionary large = new Dictionary(List.of(letters.toString()), List.of(letters.toString()));
+        assertFalse(WordConstraints.supports(large));
+        assertThrows(IllegalArgumentException.class, () -> new WordConstraints(large));
+    }
+
+}
@@ -1,6 +1,7 @@
 package no.uib.inf102.wordle.model.word.wordleWordList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -99,4 +100,47 @@ public class WordleWordListTest {
         assertTrue(possibleAnswers.isEmpty());
     }
 
+    @Test
+    public void eliminateWithWordOutsideDictionary() {
+        // "qxzvw" is not a legal guess, so it has no row in the feedback matrix
+        WordleWord feedback = WordleAnswer.matchWord("qxzvw", "rocks");
+        WordleWordList list = new WordleWordList(dictionary);
+        list.eliminateWords(feedback);
+
+        List<String> expectedList = new ArrayList<>();
+        for (String word : dictionary.getAnswerWordsList()) {
+            if (WordleWord.isPossibleWord(word, feedback))
+                expectedList.add(word);
+        }
+        compareLists(new ArrayList<>(list.possibleAnswers()), expectedList);
+    }
+
+    @Test
+    public void removeUpdatesSize() {
+        WordleWordList list = new WordleWordList(dictionary);
+        int size = list.size();
+        String first = list.possibleAnswers().get(0);
+
+        list.remove(first);
+        assertEquals(size - 1, list.size());
+        assertFalse(list.possibleAnswers().contains(first));
+
+        list.remove(first);
+        assertEquals(size - 1, list.size(), "Removing a word twice should not change the size.");
+    }
+
+    @Test
+    public void nextPossibleAnswerVisitsAllAnswers() {
+        WordleWordList list = new WordleWordList(dictionary);
+        list.eliminateWords(new WordleAnswer("rocks", dictionary).makeGuess("arise"));
+
+        List<String> visited = new ArrayList<>();
+        for (int i = list.nextPossibleAnswer(0); i >= 0; i = list.nextPossibleAnswer(i + 1)) {
+            assertTrue(list.isPossibleAnswer(i));
+            visited.add(dictionary.getAnswerWordsList().get(i));
+        }
+        assertEquals(list.size(), visited.size());
+        compareLists(visited, new ArrayList<>(list.possibleAnswers()));
+    }
+
 }
@@ -0,0 +1,91 @@
+package no.uib.inf102.wordle.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+import no.uib.inf102.wordle.model.GameState;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+public class SessionServiceTest {
+
+    private Dictionary dictionary = Dictionary.getDefault();
+
+    @Test
+    public void sessionsAreKeptById() {
+        SessionService service = new SessionService(dictionary);
+        GameSession first = service.create(false);
+        GameSession second = service.create(true);
+        assertNotEquals(first.id(), second.id());
+        assertEquals(first.id(), service.get(first.id()).id());
+        assertTrue(service.get(second.id()).isHardMode());
+        assertEquals(2, service.size());
+
+        assertTrue(service.remove(first.id()));
+        assertFalse(service.remove(first.id()));
+        assertThrows(NoSuchElementException.class, () -> service.get(first.id()));
+    }
+
+    @Test
+    public void guessesAreRestoredFromStore() {
+        SessionService service = new SessionService(dictionary, 6);
+        String id = service.create(new Random(1), true).id();
+        GameSession after = service.guess(id, "soare");
+
+        GameSession restored = service.get(id);
+        assertEquals(List.of("soare"), restored.guesses());
+        assertEquals(after.lastFeedback(), restored.lastFeedback());
+        assertEquals(after.remaining(), restored.remaining());
+        assertTrue(restored.isHardMode());
+        service.guess(id, restored.hint());
+        assertEquals(2, service.get(id).guesses().size());
+
+        assertThrows(NoSuchElementException.class, () -> service.get("zzzzzzz"));
+        assertThrows(NoSuchElementException.class, () -> service.guess("not an id", "soare"));
+    }
+
+    @Test
+    public void gameIsWonWithHints() {
+        GameSession session = new GameSession("a", dictionary, "cloud", 20, false);
+        assertEquals("01000", GameSession.digits(session.guess("soare")));
+        assertEquals(GameState.ACTIVE_GAME, session.state());
+        assertNull(session.revealedAnswer());
+        while (session.state() == GameState.ACTIVE_GAME) {
+            String hint = session.hint();
+            assertEquals(WordleAnswer.matchWord(hint, "cloud"), session.guess(hint));
+        }
+        assertEquals(GameState.VICTORY, session.state());
+        assertEquals(1, session.remaining());
+        assertEquals("cloud", session.revealedAnswer());
+    }
+
+    @Test
+    public void gameIsLostAfterMaxGuesses() {
+        GameSession session = new GameSession("a", dictionary, "cloud", 2, false);
+        session.guess("soare");
+        assertThrows(IllegalArgumentException.class, () -> session.guess("xxxxx"));
+        session.guess("cigar");
+        assertEquals(GameState.GAME_OVER, session.state());
+        assertThrows(IllegalStateException.class, () -> session.guess("cloud"));
+        assertEquals(2, session.guesses().size());
+    }
+
+    @Test
+    public void hardModeRejectsGuessesThatDoNotFit() {
+        GameSession session = new GameSession("a", dictionary, "cloud", 6, true);
+        session.guess("soare");
+        // "cigar" has no o, which the feedback says the answer has
+        assertThrows(IllegalArgumentException.class, () -> session.guess("cigar"));
+        session.guess(session.hint());
+    }
+}
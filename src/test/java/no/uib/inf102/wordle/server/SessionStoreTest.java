@@ -0,0 +1,110 @@
+package no.uib.inf102.wordle.server;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SessionStoreTest {
+
+    @TempDir
+    Path folder;
+
+    private AtomicLong now = new AtomicLong();
+
+    @Test
+    public void storesGuessesAndCodes() {
+        SessionStore store = new SessionStore(10, 6, 1000, now::get);
+        long id = store.create(42, true);
+        store.addGuess(id, 7, 242);
+        store.addGuess(id, 12_000, 59_048);
+
+        SessionStore.Record record = store.get(id);
+        assertEquals(42, record.answerId);
+        assertTrue(record.hardMode);
+        assertArrayEquals(new int[] { 7, 12_000 }, record.guessIds);
+        assertArrayEquals(new int[] { 242, 59_048 }, record.codes);
+        assertEquals(64, SessionStore.recordSize(6));
+    }
+
+    @Test
+    public void fullStoreRemovesLeastRecentlyUsed() {
+        SessionStore store = new SessionStore(3, 6, 1000, now::get);
+        long a = store.create(1, false);
+        long b = store.create(2, false);
+        long c = store.create(3, false);
+        store.get(a); // b is now the least recently used
+
+        long d = store.create(4, false);
+        assertEquals(3, store.size());
+        assertFalse(store.contains(b));
+        assertTrue(store.contains(a) && store.contains(c) && store.contains(d));
+        // d reuses the record of b, but the old id does not find it
+        assertEquals((int) b, (int) d);
+        assertNotEquals(b, d);
+        assertThrows(NoSuchElementException.class, () -> store.get(b));
+    }
+
+    @Test
+    public void idleGamesExpire() {
+        SessionStore store = new SessionStore(10, 6, 1000, now::get);
+        long a = store.create(1, false);
+        now.set(600);
+        long b = store.create(2, false);
+        now.set(1100);
+        assertFalse(store.contains(a));
+        assertTrue(store.contains(b));
+        store.addGuess(b, 5, 0);
+        now.set(2000);
+        assertTrue(store.contains(b));
+        now.set(2100);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void removedRecordsAreReused() {
+        SessionStore store = new SessionStore(2000, 6, 1000, now::get);
+        long[] ids = new long[2000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = store.create(i, false);
+        }
+        assertEquals(2000L * 64, store.bytes());
+        assertTrue(store.remove(ids[5]));
+        assertFalse(store.remove(ids[5]));
+        long id = store.create(-1, false);
+        assertEquals(5, (int) id);
+        assertEquals(-1, store.get(id).answerId);
+        assertEquals(1999, store.get(ids[1999]).answerId);
+    }
+
+    @Test
+    public void tooManyGuessesAreRejected() {
+        SessionStore store = new SessionStore(1, 2, 1000, now::get);
+        long id = store.create(0, false);
+        store.addGuess(id, 1, 1);
+        store.addGuess(id, 2, 2);
+        assertThrows(IllegalStateException.class, () -> store.addGuess(id, 3, 3));
+    }
+
+    @Test
+    public void mappedStoreUsesFile() throws IOException {
+        Path file = folder.resolve("sessions.bin");
+        SessionStore store = SessionStore.mapped(1000, 6, 1000, file, now::get);
+        assertTrue(store.isMapped());
+        assertEquals(1000L * 64, Files.size(file));
+        long id = store.create(3, false);
+        store.addGuess(id, 9, 81);
+        assertArrayEquals(new int[] { 81 }, store.get(id).codes);
+    }
+}
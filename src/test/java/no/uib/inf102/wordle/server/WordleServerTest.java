@@ -0,0 +1,81 @@
+package no.uib.inf102.wordle.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.Dictionary;
+
+public class WordleServerTest {
+
+    private SessionService service;
+    private WordleServer server;
+    private URI base;
+    private HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void start() throws IOException {
+        service = new SessionService(Dictionary.getDefault());
+        server = new WordleServer(service, 0, 4);
+        server.start();
+        base = URI.create("http://localhost:" + server.getPort());
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    public void playsGameOverHttp() throws IOException, InterruptedException {
+        HttpResponse<String> created = send("POST", "/games", "");
+        assertEquals(201, created.statusCode());
+        String id = LoadTestClient.field(created.body(), "id");
+        assertEquals("5", LoadTestClient.field(created.body(), "wordLength"));
+
+        HttpResponse<String> guess = send("POST", "/games/" + id + "/guess", "soare");
+        assertEquals(200, guess.statusCode(), guess.body());
+        assertEquals(5, LoadTestClient.field(guess.body(), "feedback").length());
+        assertEquals("1", LoadTestClient.field(guess.body(), "guessCount"));
+
+        assertEquals(400, send("POST", "/games/" + id + "/guess", "xxxxx").statusCode());
+        assertEquals(405, send("POST", "/games/" + id + "/hint", "").statusCode());
+        String hint = LoadTestClient.field(send("GET", "/games/" + id + "/hint", null).body(), "hint");
+        assertTrue(Dictionary.getDefault().isLegalGuess(hint));
+
+        HttpResponse<String> state = send("GET", "/games/" + id, null);
+        assertTrue(state.body().contains("\"guesses\":[\"soare\"]"), state.body());
+
+        assertEquals(204, send("DELETE", "/games/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/games/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/other", null).statusCode());
+    }
+
+    @Test
+    public void loadTestPlaysEverySession() throws InterruptedException {
+        LoadTestClient.Report report = new LoadTestClient(base, 8).run(200);
+        assertEquals(0, report.errors);
+        assertEquals(200, service.size());
+        assertTrue(report.won > 0);
+        // one request to create each session, and two per turn
+        assertTrue(report.requests() >= 200 + 2 * 200);
+        assertTrue(report.percentile(50) <= report.percentile(99));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path)).method(method, publisher).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}